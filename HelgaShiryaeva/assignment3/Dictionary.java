@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class represents a dictionary which is formed from a given list
@@ -18,7 +19,10 @@ import java.util.HashMap;
  * have same parent.
  */
 public class Dictionary {
+    private static final AtomicLong nextVersion = new AtomicLong();
+
     private TrieNode root;
+    private final long version;
 
     /**
      * Constructs a tree/dictionary from a given list of words.
@@ -26,6 +30,7 @@ public class Dictionary {
      * @param words is a list of words that will be stored in a tree.
      */
     public Dictionary(List<String> words) {
+        version = nextVersion.incrementAndGet();
         root = new TrieNode();
         for (String string : words) {
             TrieNode current = root;
@@ -46,6 +51,16 @@ public class Dictionary {
         }
     }
 
+    /**
+     * A dictionary cannot be changed after it is constructed, so every
+     * dictionary gets its own version id which identifies the results
+     * of the searches made with it.
+     * @return the version id of this dictionary
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * This methods helps to efficiently detect whether the given prefix
      * is a prefix of at least one word in a dictionary.
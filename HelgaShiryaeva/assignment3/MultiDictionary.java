@@ -0,0 +1,165 @@
+package assignment3;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class represents several dictionaries merged into a single tree.
+ * Words that are shared between dictionaries are stored only once and
+ * every node that ends a word keeps a bitmask of the dictionaries the
+ * word belongs to: bit k is set if the word is in the k-th dictionary.
+ * This allows to search a grid of letters once for all the dictionaries
+ * instead of once per dictionary.
+ * At most 64 dictionaries can be merged.
+ */
+public class MultiDictionary {
+    public static final int MAX_DICTIONARIES = Long.SIZE;
+
+    private TrieNode root;
+    private int dictionaryCount;
+
+    /**
+     * Constructs a merged tree from the given lists of words.
+     * All capital letters in words will be converted to lower case ones.
+     * @param dictionaries is a list of dictionaries, the index of a dictionary
+     * in this list is the index used for the results of the search
+     */
+    public MultiDictionary(List<List<String>> dictionaries) {
+        if (dictionaries.size() > MAX_DICTIONARIES) {
+            throw new IllegalArgumentException("At most " + MAX_DICTIONARIES
+                    + " dictionaries can be merged");
+        }
+        root = new TrieNode();
+        dictionaryCount = dictionaries.size();
+        for (int index = 0; index < dictionaryCount; index++) {
+            long bit = 1L << index;
+            for (String string : dictionaries.get(index)) {
+                addWord(string, bit);
+            }
+        }
+    }
+
+    private void addWord(String string, long bit) {
+        TrieNode current = root;
+        char[] word = string.toLowerCase().toCharArray();
+        StringBuilder prefix = new StringBuilder("");
+        for (char c : word) {
+            prefix.append(c);
+            TrieNode node = current.children.get(c);
+            if (node == null) {
+                node = new TrieNode(prefix.toString());
+                current.children.put(c, node);
+            }
+            current = node;
+        }
+        current.wordMask |= bit;
+    }
+
+    /**
+     * @return the number of merged dictionaries
+     */
+    public int getDictionaryCount() {
+        return dictionaryCount;
+    }
+
+    /**
+     * This method detects whether the given prefix is a prefix of at least one
+     * word in at least one of the dictionaries.
+     * @param prefix is a prefix that we want to check
+     * @return true if the prefix is in the tree
+     */
+    public boolean isPrefix(String prefix) {
+        return find(prefix) != null;
+    }
+
+    /**
+     * This method returns the dictionaries the given word belongs to.
+     * @param word is a word that needs to be checked
+     * @return a bitmask where bit k is set if the word is in the k-th dictionary,
+     * 0 if the word is in none of them
+     */
+    public long getMembership(String word) {
+        TrieNode node = find(word);
+        return node == null ? 0L : node.wordMask;
+    }
+
+    /**
+     * @param word is a word that needs to be checked
+     * @param dictionary is an index of a dictionary
+     * @return true if the word is in the given dictionary
+     */
+    public boolean isWord(String word, int dictionary) {
+        return (getMembership(word) & (1L << dictionary)) != 0;
+    }
+
+    /**
+     * This method is to get all words from one of the dictionaries
+     * @param dictionary is an index of a dictionary
+     * @return a set of all words from the given dictionary
+     */
+    public Set<String> getWords(int dictionary) {
+        Set<String> words = new HashSet<>();
+        getWordsRecursive(root, 1L << dictionary, words);
+        return words;
+    }
+
+    private void getWordsRecursive(TrieNode current, long bit, Set<String> words) {
+        for (TrieNode node : current.children.values()) {
+            if ((node.wordMask & bit) != 0) {
+                words.add(node.prefix);
+            }
+            getWordsRecursive(node, bit, words);
+        }
+    }
+
+    private TrieNode find(String prefix) {
+        TrieNode current = root;
+        for (char c : prefix.toCharArray()) {
+            current = current.children.get(c);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    TrieNode getRoot() {
+        return root;
+    }
+
+    /**
+     * This class represents a node of the merged tree.
+     * Each node stores the current prefix and a bitmask of the
+     * dictionaries in which this prefix is a word.
+     */
+    class TrieNode {
+        private Map<Character, TrieNode> children;
+        private String prefix;
+        private long wordMask;
+
+        TrieNode() {
+            this.children = new HashMap<>();
+            this.prefix = "";
+        }
+
+        TrieNode(String prefix) {
+            this.children = new HashMap<>();
+            this.prefix = prefix;
+        }
+
+        TrieNode getChild(char c) {
+            return children.get(c);
+        }
+
+        String getPrefix() {
+            return prefix;
+        }
+
+        long getWordMask() {
+            return wordMask;
+        }
+    }
+}
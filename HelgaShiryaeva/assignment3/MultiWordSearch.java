@@ -0,0 +1,128 @@
+package assignment3;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class represents an object with the help of which you can check
+ * which words of several dictionaries can be found in a given grid of letters
+ * with a single search of the grid.
+ * The search rules are the same as in {@link WordSearch}.
+ */
+public class MultiWordSearch {
+    private MultiDictionary dictionary;
+
+    public MultiWordSearch(MultiDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * This method is for searching for the words of all the merged dictionaries
+     * that can be formed using a grid of letters.
+     * The grid is searched only once, the tree of the dictionary is walked
+     * along with the search so no prefix is looked up from the root.
+     * @param board is a grid of lower case characters which can be used to form a word
+     * @return a list of sets of words, the k-th set contains the words
+     * from the k-th dictionary which can be formed in the grid
+     */
+    public List<Set<String>> findWords(char[][] board) {
+        return findWords(board, null);
+    }
+
+    /**
+     * This method is the same search as {@link #findWords(char[][])} which
+     * also counts the work done by the search. A prefix lookup is a step
+     * from a node of the tree to its child and a word lookup is a check
+     * of the dictionaries of a node.
+     * If a Java Flight Recorder recording has the word search event enabled,
+     * the counters are collected and recorded even when no metrics are given,
+     * with the words found in all the dictionaries.
+     * @param board is a grid of lower case characters which can be used to form a word
+     * @param metrics is where the counters of this search are stored, null
+     * if they should not be collected
+     * @return a list of sets of words, one set per dictionary
+     */
+    public List<Set<String>> findWords(char[][] board, SearchMetrics metrics) {
+        List<Set<String>> words = new ArrayList<>();
+        for (int k = 0; k < dictionary.getDictionaryCount(); k++) {
+            words.add(new HashSet<>());
+        }
+        WordSearchEvent event = new WordSearchEvent();
+        if (metrics == null && event.isEnabled()) {
+            metrics = new SearchMetrics();
+        }
+        if (metrics != null) {
+            metrics.start(board.length, board.length == 0 ? 0 : board[0].length);
+        }
+        event.begin();
+        if (board.length != 0 && board[0].length != 0) {
+            boolean[][] isVisited = new boolean[board.length][board[0].length];
+            for (int i = 0; i < board.length; i++) {
+                for (int j = 0; j < board[0].length; j++) {
+                    long start = metrics == null ? 0 : System.nanoTime();
+                    dfs(board, i, j, dictionary.getRoot(), 1, words, isVisited, metrics);
+                    if (metrics != null) {
+                        metrics.startCell(i, j, System.nanoTime() - start);
+                    }
+                }
+            }
+        }
+        event.end();
+        if (metrics != null && event.shouldCommit()) {
+            int wordsFound = 0;
+            for (Set<String> found : words) {
+                wordsFound += found.size();
+            }
+            event.set(board, wordsFound, metrics);
+            event.commit();
+        }
+        return words;
+    }
+
+    /**
+     * This method is a Depth First Search for words in a grid of letters.
+     * @param board is a given grid of letters
+     * @param i is an index of row of the grid
+     * @param j is an index of column in the grid
+     * @param parent is the node of the tree for the prefix formed before this cell
+     * @param depth is the length of the prefix formed with this cell
+     * @param words is a list of sets of words found, one set per dictionary
+     * @param isVisited is an array to mark visited cells in grid
+     * @param metrics is where the counters of the search are stored, null
+     * if they are not collected
+     */
+    private void dfs(char[][] board, int i, int j, MultiDictionary.TrieNode parent, int depth,
+                     List<Set<String>> words, boolean[][] isVisited, SearchMetrics metrics) {
+        if (i < 0 || i >= board.length || j < 0 || j >= board[0].length || isVisited[i][j]) {
+            return;
+        }
+        MultiDictionary.TrieNode node = parent.getChild(board[i][j]);
+        if (metrics != null) {
+            metrics.expand(depth);
+            metrics.prefixCall(node != null);
+        }
+        if (node == null) {
+            return;
+        }
+        long mask = node.getWordMask();
+        if (metrics != null) {
+            metrics.wordCall(mask != 0);
+        }
+        while (mask != 0) {
+            int k = Long.numberOfTrailingZeros(mask);
+            words.get(k).add(node.getPrefix());
+            mask &= mask - 1;
+        }
+        isVisited[i][j] = true;
+        for (int k = i - 1; k < i + 2; k++) {
+            for (int l = j - 1; l < j + 2; l++) {
+                if (k != i || l != j) {
+                    dfs(board, k, l, node, depth + 1, words, isVisited, metrics);
+                }
+            }
+        }
+        isVisited[i][j] = false;
+    }
+}
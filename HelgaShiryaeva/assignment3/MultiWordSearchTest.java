@@ -0,0 +1,77 @@
+package assignment3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MultiWordSearchTest {
+    private MultiDictionary dictionary;
+    private MultiWordSearch wordSearch;
+
+    @Before
+    public void init() {
+        List<String> first = Arrays.asList("car", "card", "cart", "cat");
+        List<String> second = Arrays.asList("cat", "act", "tar");
+        List<String> third = Arrays.asList("dog");
+        dictionary = new MultiDictionary(Arrays.asList(first, second, third));
+        wordSearch = new MultiWordSearch(dictionary);
+    }
+
+    @Test
+    public void membershipTest() {
+        assertEquals(3L, dictionary.getMembership("cat"));
+        assertEquals(1L, dictionary.getMembership("card"));
+        assertEquals(0L, dictionary.getMembership("ca"));
+        assertTrue(dictionary.isWord("tar", 1));
+        assertFalse(dictionary.isWord("tar", 0));
+        assertTrue(dictionary.isPrefix("do"));
+        assertEquals(new HashSet<>(Arrays.asList("cat", "act", "tar")), dictionary.getWords(1));
+    }
+
+    @Test
+    public void findWordsTest() {
+        char[][] grid = new char[][] {
+                {'a', 'a', 'r'},
+                {'t', 'c', 'd'}
+        };
+        List<Set<String>> actualWords = wordSearch.findWords(grid);
+        assertEquals(3, actualWords.size());
+        assertEquals(new HashSet<>(Arrays.asList("car", "card", "cat")), actualWords.get(0));
+        assertEquals(new HashSet<>(Arrays.asList("cat", "act", "tar")), actualWords.get(1));
+        assertEquals(new HashSet<String>(), actualWords.get(2));
+    }
+
+    @Test
+    public void sameResultAsSeparateSearchesTest() {
+        char[][] grid = new char[][] {
+                {'a', 'a', 'r'},
+                {'t', 'c', 'd'}
+        };
+        List<Set<String>> actualWords = wordSearch.findWords(grid);
+        for (int k = 0; k < dictionary.getDictionaryCount(); k++) {
+            WordSearch single = new WordSearch(new Dictionary(
+                    Arrays.asList(dictionary.getWords(k).toArray(new String[0]))));
+            assertEquals(single.findWords(grid), actualWords.get(k));
+        }
+    }
+
+    @Test
+    public void emptyGridTest() {
+        char[][] grid = new char[][] {
+                {},
+                {}
+        };
+        List<Set<String>> actualWords = wordSearch.findWords(grid);
+        for (Set<String> words : actualWords) {
+            assertTrue(words.isEmpty());
+        }
+    }
+}
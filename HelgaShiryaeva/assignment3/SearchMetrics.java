@@ -0,0 +1,137 @@
+package assignment3;
+
+/**
+ * This class collects the counters of one search of a grid of letters.
+ * It shows how much work the search did and where: how many cells were
+ * added to a prefix, how many dictionary lookups were made and how many
+ * of them succeeded, how deep the search went and how long the search
+ * took from every start cell.
+ * Metrics are only collected when an object of this class is passed to
+ * the search, otherwise the search does not count anything.
+ */
+public class SearchMetrics {
+    private long nodesExpanded;
+    private long prefixCalls;
+    private long prefixHits;
+    private long wordCalls;
+    private long wordHits;
+    private int maxDepth;
+    private long totalNanos;
+    private long[][] startCellNanos = new long[0][0];
+
+    void start(int rows, int columns) {
+        nodesExpanded = 0;
+        prefixCalls = 0;
+        prefixHits = 0;
+        wordCalls = 0;
+        wordHits = 0;
+        maxDepth = 0;
+        totalNanos = 0;
+        startCellNanos = new long[rows][columns];
+    }
+
+    void expand(int depth) {
+        nodesExpanded++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    void prefixCall(boolean hit) {
+        prefixCalls++;
+        if (hit) {
+            prefixHits++;
+        }
+    }
+
+    void wordCall(boolean hit) {
+        wordCalls++;
+        if (hit) {
+            wordHits++;
+        }
+    }
+
+    void startCell(int row, int column, long nanos) {
+        startCellNanos[row][column] = nanos;
+        totalNanos += nanos;
+    }
+
+    /**
+     * @return the number of cells that were added to a prefix during the search
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public long getPrefixCalls() {
+        return prefixCalls;
+    }
+
+    public long getPrefixHits() {
+        return prefixHits;
+    }
+
+    public long getWordCalls() {
+        return wordCalls;
+    }
+
+    public long getWordHits() {
+        return wordHits;
+    }
+
+    /**
+     * @return the length of the longest prefix formed during the search
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return the part of the prefix lookups that found a prefix,
+     * 0 if there were no lookups
+     */
+    public double getPrefixHitRate() {
+        return prefixCalls == 0 ? 0 : (double) prefixHits / prefixCalls;
+    }
+
+    /**
+     * @return the part of the word lookups that found a word,
+     * 0 if there were no lookups
+     */
+    public double getWordHitRate() {
+        return wordCalls == 0 ? 0 : (double) wordHits / wordCalls;
+    }
+
+    /**
+     * @return the part of the prefix lookups that stopped the search,
+     * 0 if there were no lookups
+     */
+    public double getPruneRatio() {
+        return prefixCalls == 0 ? 0 : (double) (prefixCalls - prefixHits) / prefixCalls;
+    }
+
+    /**
+     * @return the time of the whole search in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @param row is an index of row of the grid
+     * @param column is an index of column of the grid
+     * @return the time in nanoseconds of the search of the words that start
+     * in the given cell
+     */
+    public long getStartCellNanos(int row, int column) {
+        return startCellNanos[row][column];
+    }
+
+    @Override
+    public String toString() {
+        return "SearchMetrics{nodesExpanded=" + nodesExpanded
+                + ", prefixCalls=" + prefixCalls + ", prefixHitRate=" + getPrefixHitRate()
+                + ", wordCalls=" + wordCalls + ", wordHitRate=" + getWordHitRate()
+                + ", maxDepth=" + maxDepth + ", totalNanos=" + totalNanos + "}";
+    }
+}
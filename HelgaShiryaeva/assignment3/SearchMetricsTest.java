@@ -0,0 +1,59 @@
+package assignment3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchMetricsTest {
+    private char[][] grid;
+
+    @Before
+    public void init() {
+        grid = new char[][] {
+                {'c', 'a', 't'}
+        };
+    }
+
+    @Test
+    public void wordSearchMetricsTest() {
+        WordSearch wordSearch = new WordSearch(Collections.singletonList("cat"));
+        SearchMetrics metrics = new SearchMetrics();
+        assertEquals(new HashSet<>(Arrays.asList("cat")), wordSearch.findWords(grid, metrics));
+        assertMetrics(metrics);
+    }
+
+    @Test
+    public void multiWordSearchMetricsTest() {
+        MultiWordSearch wordSearch = new MultiWordSearch(new MultiDictionary(
+                Collections.singletonList(Collections.singletonList("cat"))));
+        SearchMetrics metrics = new SearchMetrics();
+        wordSearch.findWords(grid, metrics);
+        assertMetrics(metrics);
+    }
+
+    @Test
+    public void metricsAreResetTest() {
+        WordSearch wordSearch = new WordSearch(Collections.singletonList("cat"));
+        SearchMetrics metrics = new SearchMetrics();
+        wordSearch.findWords(grid, metrics);
+        wordSearch.findWords(grid, metrics);
+        assertMetrics(metrics);
+    }
+
+    private void assertMetrics(SearchMetrics metrics) {
+        assertEquals(5, metrics.getNodesExpanded());
+        assertEquals(5, metrics.getPrefixCalls());
+        assertEquals(3, metrics.getPrefixHits());
+        assertEquals(3, metrics.getWordCalls());
+        assertEquals(1, metrics.getWordHits());
+        assertEquals(3, metrics.getMaxDepth());
+        assertEquals(0.4, metrics.getPruneRatio(), 1e-9);
+        assertTrue(metrics.getStartCellNanos(0, 0) >= 0);
+    }
+}
@@ -24,6 +24,10 @@ public class WordSearch {
         this.dictionary = dictionary;
     }
 
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
     /**
      * This method is for searching for all the words in a dictionary
      * that can be formed using a grid of letters.
@@ -39,6 +43,29 @@ public class WordSearch {
      * in a grid of words
      */
     public Set<String> findWords(char[][] board) {
+        return findWords(board, null);
+    }
+
+    /**
+     * This method is the same search as {@link #findWords(char[][])} which
+     * also counts the work done by the search.
+     * If a Java Flight Recorder recording has the word search event enabled,
+     * the counters are collected and recorded even when no metrics are given.
+     * @param board is a grid of characters which can be used to form a word.
+     * @param metrics is where the counters of this search are stored, null
+     * if they should not be collected
+     * @return the list of words from a dictionary which can be formed
+     * in a grid of words
+     */
+    public Set<String> findWords(char[][] board, SearchMetrics metrics) {
+        WordSearchEvent event = new WordSearchEvent();
+        if (metrics == null && event.isEnabled()) {
+            metrics = new SearchMetrics();
+        }
+        if (metrics != null) {
+            metrics.start(board.length, board.length == 0 ? 0 : board[0].length);
+        }
+        event.begin();
         Set<String> words = new HashSet<>();
         StringBuilder prefix;
         boolean[][] isVisited;
@@ -46,9 +73,18 @@ public class WordSearch {
             for(int j = 0; j < board[0].length; j++) {
                 prefix = new StringBuilder();
                 isVisited = new boolean[board.length][board[0].length];
-                dfs(board, i, j, prefix, words, isVisited);
+                long start = metrics == null ? 0 : System.nanoTime();
+                dfs(board, i, j, prefix, words, isVisited, metrics);
+                if (metrics != null) {
+                    metrics.startCell(i, j, System.nanoTime() - start);
+                }
             }
         }
+        event.end();
+        if (metrics != null && event.shouldCommit()) {
+            event.set(board, words.size(), metrics);
+            event.commit();
+        }
         return words;
     }
 
@@ -62,24 +98,36 @@ public class WordSearch {
      * @param isVisited is an array to mark visited cells in grid
      * isVisited[i][j] is true if we have already visited board[i][j]
      * during the search
+     * @param metrics is where the counters of the search are stored, null
+     * if they are not collected
      */
-    private void dfs(char[][] board, int i, int j, StringBuilder prefix, Set<String> words, boolean[][] isVisited) {
+    private void dfs(char[][] board, int i, int j, StringBuilder prefix, Set<String> words, boolean[][] isVisited,
+                     SearchMetrics metrics) {
         if (i < 0 || i >= board.length || j < 0 || j >= board[0].length || isVisited[i][j]) {
             return;
         }
         prefix.append(board[i][j]);
-        if(!dictionary.isPrefix(prefix.toString())) {
+        boolean isPrefix = dictionary.isPrefix(prefix.toString());
+        if (metrics != null) {
+            metrics.expand(prefix.length());
+            metrics.prefixCall(isPrefix);
+        }
+        if(!isPrefix) {
             prefix.deleteCharAt(prefix.length() - 1);
             return;
         }
-        if(dictionary.isWord(prefix.toString())) {
+        boolean isWord = dictionary.isWord(prefix.toString());
+        if (metrics != null) {
+            metrics.wordCall(isWord);
+        }
+        if(isWord) {
             words.add(prefix.toString());
         }
         isVisited[i][j] = true;
         for (int k = i - 1; k < i + 2; k++) {
             for(int l = j - 1; l < j + 2; l++) {
                 if(k != i || l != j) {
-                    dfs(board, k, l, prefix, words, isVisited);
+                    dfs(board, k, l, prefix, words, isVisited, metrics);
                 }
             }
         }
@@ -0,0 +1,171 @@
+package assignment3;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class represents a bounded cache of the results of
+ * {@link WordSearch#findWords(char[][])}.
+ * Words are formed by moving to any of the 8 adjacent cells, so rotating
+ * or reflecting a grid does not change the words that can be found in it.
+ * That is why a result is stored under the canonical form of the grid:
+ * the smallest of its 8 rotations and reflections. A rotated or reflected
+ * grid searched with the same dictionary is then a hit.
+ * When the cache is full, the least recently used result is evicted.
+ */
+public class WordSearchCache {
+    private final int capacity;
+    private final Map<Key, Set<String>> results;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param capacity is the maximal number of results kept in the cache
+     */
+    public WordSearchCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<Key, Set<String>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Set<String>> eldest) {
+                if (size() > WordSearchCache.this.capacity) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * This method returns the words of the dictionary of the given search
+     * that can be formed in the grid, searching the grid only if neither it
+     * nor any of its rotations and reflections was searched with the same
+     * dictionary before.
+     * @param wordSearch is a search with the dictionary to use
+     * @param board is a grid of characters which can be used to form a word
+     * @return the set of words which can be formed in the grid
+     */
+    public Set<String> findWords(WordSearch wordSearch, char[][] board) {
+        Key key = new Key(wordSearch.getDictionary().getVersion(), canonicalForm(board));
+        synchronized (this) {
+            Set<String> words = results.get(key);
+            if (words != null) {
+                hitCount++;
+                return new HashSet<>(words);
+            }
+            missCount++;
+        }
+        Set<String> words = wordSearch.findWords(board);
+        synchronized (this) {
+            results.put(key, new HashSet<>(words));
+        }
+        return words;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the part of the requests answered from the cache,
+     * 0 if there were no requests yet
+     */
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    /**
+     * This method writes each of the 8 rotations and reflections of the grid
+     * row by row into a string, prefixed with its dimensions, and returns the
+     * smallest of these strings.
+     * @param board is a rectangular grid of characters
+     * @return the canonical form of the grid
+     */
+    static String canonicalForm(char[][] board) {
+        int rows = board.length;
+        int columns = rows == 0 ? 0 : board[0].length;
+        String canonical = null;
+        for (int transform = 0; transform < 8; transform++) {
+            boolean transpose = (transform & 4) != 0;
+            boolean flipRows = (transform & 2) != 0;
+            boolean flipColumns = (transform & 1) != 0;
+            int newRows = transpose ? columns : rows;
+            int newColumns = transpose ? rows : columns;
+            StringBuilder form = new StringBuilder(newRows * newColumns + 16);
+            form.append(newRows).append('x').append(newColumns).append(':');
+            for (int i = 0; i < newRows; i++) {
+                for (int j = 0; j < newColumns; j++) {
+                    int row = transpose ? j : i;
+                    int column = transpose ? i : j;
+                    if (flipRows) {
+                        row = rows - 1 - row;
+                    }
+                    if (flipColumns) {
+                        column = columns - 1 - column;
+                    }
+                    form.append(board[row][column]);
+                }
+            }
+            String candidate = form.toString();
+            if (canonical == null || candidate.compareTo(canonical) < 0) {
+                canonical = candidate;
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * This class represents a key of the cache: the version of a dictionary
+     * and the canonical form of a grid.
+     */
+    private static class Key {
+        private final long version;
+        private final String board;
+
+        Key(long version, String board) {
+            this.version = version;
+            this.board = board;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return version == key.version && board.equals(key.board);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, board);
+        }
+    }
+}
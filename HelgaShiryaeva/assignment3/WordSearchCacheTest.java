@@ -0,0 +1,90 @@
+package assignment3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class WordSearchCacheTest {
+    private WordSearch wordSearch;
+    private WordSearchCache cache;
+    private char[][] grid;
+
+    @Before
+    public void init() {
+        wordSearch = new WordSearch(Arrays.asList("car", "card", "cart", "cat"));
+        cache = new WordSearchCache(2);
+        grid = new char[][] {
+                {'a', 'a', 'r'},
+                {'t', 'c', 'd'}
+        };
+    }
+
+    @Test
+    public void repeatedGridIsHitTest() {
+        Set<String> expectedWords = new HashSet<>(Arrays.asList("car", "card", "cat"));
+        assertEquals(expectedWords, cache.findWords(wordSearch, grid));
+        assertEquals(expectedWords, cache.findWords(wordSearch, grid));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void rotatedAndReflectedGridsAreHitsTest() {
+        char[][] rotated = new char[][] {
+                {'t', 'a'},
+                {'c', 'a'},
+                {'d', 'r'}
+        };
+        char[][] reflected = new char[][] {
+                {'r', 'a', 'a'},
+                {'d', 'c', 't'}
+        };
+        Set<String> expectedWords = cache.findWords(wordSearch, grid);
+        assertEquals(expectedWords, cache.findWords(wordSearch, rotated));
+        assertEquals(expectedWords, cache.findWords(wordSearch, reflected));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void otherDictionaryIsMissTest() {
+        WordSearch other = new WordSearch(Arrays.asList("car", "card", "cart", "cat"));
+        cache.findWords(wordSearch, grid);
+        cache.findWords(other, grid);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvictedTest() {
+        char[][] second = new char[][] {{'c', 'a', 't'}};
+        char[][] third = new char[][] {{'c', 'a', 'r'}};
+        cache.findWords(wordSearch, grid);
+        cache.findWords(wordSearch, second);
+        cache.findWords(wordSearch, grid);
+        cache.findWords(wordSearch, third);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.findWords(wordSearch, grid);
+        assertEquals(2, cache.getHitCount());
+        cache.findWords(wordSearch, second);
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void canonicalFormTest() {
+        char[][] transposed = new char[][] {
+                {'a', 't'},
+                {'a', 'c'},
+                {'r', 'd'}
+        };
+        assertEquals(WordSearchCache.canonicalForm(grid), WordSearchCache.canonicalForm(transposed));
+        assertEquals("0x0:", WordSearchCache.canonicalForm(new char[0][0]));
+    }
+}
@@ -0,0 +1,57 @@
+package assignment3;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class represents a Java Flight Recorder event that is recorded
+ * for every search of a grid of letters while the event is enabled
+ * in a recording. It carries the counters of {@link SearchMetrics}.
+ */
+@Name("assignment3.WordSearch")
+@Label("Word Search")
+@Category("Word Search")
+@Description("Search of a grid of letters for words of a dictionary")
+class WordSearchEvent extends Event {
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int columns;
+
+    @Label("Words Found")
+    int wordsFound;
+
+    @Label("Nodes Expanded")
+    long nodesExpanded;
+
+    @Label("Prefix Calls")
+    long prefixCalls;
+
+    @Label("Prefix Hits")
+    long prefixHits;
+
+    @Label("Word Calls")
+    long wordCalls;
+
+    @Label("Word Hits")
+    long wordHits;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    void set(char[][] board, int wordsFound, SearchMetrics metrics) {
+        this.rows = board.length;
+        this.columns = board.length == 0 ? 0 : board[0].length;
+        this.wordsFound = wordsFound;
+        this.nodesExpanded = metrics.getNodesExpanded();
+        this.prefixCalls = metrics.getPrefixCalls();
+        this.prefixHits = metrics.getPrefixHits();
+        this.wordCalls = metrics.getWordCalls();
+        this.wordHits = metrics.getWordHits();
+        this.maxDepth = metrics.getMaxDepth();
+    }
+}
@@ -15,6 +15,16 @@ public class BinaryTree<T> {
         this.root = root;
     }
 
+    /**
+     * Builds an index answering lowest common ancestor queries in O(log n),
+     * for a tree that will not change anymore.
+     * @throws IllegalArgumentException if two nodes of the tree have the same value
+     */
+    public LcaIndex<T> buildLcaIndex() throws IllegalArgumentException
+    {
+        return new LcaIndex<>(root);
+    }
+
     public void printBinaryTree()
     {
         printBinaryTree(this.root,0);
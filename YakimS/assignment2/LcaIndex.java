@@ -0,0 +1,202 @@
+package CodeUAss2Package;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class answers lowest common ancestor queries on a binary tree that does not change,
+ * without traversing the tree again.
+ * It is built once from the tree: every node gets a dense id in breadth-first order,
+ * and for every node its depth and its ancestors 2^k levels up are stored in arrays,
+ * so a query lifts the two nodes with O(log n) array reads.
+ * Values are mapped to ids with a hash map.
+ * @param <T> is the type of data stored in the tree nodes value
+ */
+public class LcaIndex<T> {
+
+    private final Map<T, Integer> idByValue;
+    private final Object[] values;
+    private final int[] depth;
+    // ancestors[k][id] is the ancestor 2^k levels above the node, or the root if there is none
+    private final int[][] ancestors;
+
+    /**
+     * @param root - root of the tree, may be null for an empty tree
+     * @throws IllegalArgumentException if two nodes of the tree have the same value
+     */
+    LcaIndex(TreeNode<T> root)
+    {
+        int nodeCount = countNodes(root);
+        idByValue = new HashMap<>(nodeCount * 2);
+        values = new Object[nodeCount];
+        depth = new int[nodeCount];
+        int[] parent = new int[nodeCount];
+
+        // Breadth-first, so the parent of a node always has a smaller id
+        TreeNode<T>[] nodes = newNodeArray(nodeCount);
+        int nextId = 0;
+        int maxDepth = 0;
+        if(root != null)
+        {
+            nodes[nextId++] = root;
+        }
+        for(int id = 0 ; id < nextId ; id++)
+        {
+            TreeNode<T> node = nodes[id];
+            nodes[id] = null;
+            values[id] = node.getValue();
+            if(idByValue.put(node.getValue(), id) != null)
+            {
+                throw new IllegalArgumentException("Value " + node.getValue() + " appears twice");
+            }
+            maxDepth = Math.max(maxDepth, depth[id]);
+            if(node.getLeftSon() != null)
+            {
+                parent[nextId] = id;
+                depth[nextId] = depth[id] + 1;
+                nodes[nextId++] = node.getLeftSon();
+            }
+            if(node.getRightSon() != null)
+            {
+                parent[nextId] = id;
+                depth[nextId] = depth[id] + 1;
+                nodes[nextId++] = node.getRightSon();
+            }
+        }
+
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, maxDepth));
+        ancestors = new int[levels][];
+        ancestors[0] = parent;
+        for(int k = 1 ; k < levels ; k++)
+        {
+            int[] half = ancestors[k - 1];
+            int[] full = new int[nodeCount];
+            for(int id = 0 ; id < nodeCount ; id++)
+            {
+                full[id] = half[half[id]];
+            }
+            ancestors[k] = full;
+        }
+    }
+
+    public int getNodeCount()
+    {
+        return values.length;
+    }
+
+    /**
+     * @return id of the node holding the value
+     * @throws IllegalArgumentException if the value is not in the tree
+     */
+    public int getId(T value) throws IllegalArgumentException
+    {
+        Integer id = idByValue.get(value);
+        if(id == null)
+        {
+            throw new IllegalArgumentException("Value not found");
+        }
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getValue(int id)
+    {
+        return (T) values[id];
+    }
+
+    /**
+     * @return number of edges between the node and the root
+     */
+    public int getDepth(int id)
+    {
+        return depth[id];
+    }
+
+    /**
+     * @param value1 - first value to find common ancestor
+     * @param value2 - second value to find common ancestor
+     * @return lowest common ancestor of the two given values. If the values are equal than
+     *          the function will return the value.
+     * @throws IllegalArgumentException if one or both of the values are not in the tree
+     */
+    public T getLowestCommonAncestor(T value1, T value2) throws IllegalArgumentException
+    {
+        return getValue(getLowestCommonAncestorId(getId(value1), getId(value2)));
+    }
+
+    /**
+     * Same as getLowestCommonAncestor for nodes given by id, which skips the hash lookups.
+     * It has its own name, since with Integer values an int argument would be taken as a value.
+     *
+     * @param id1 - id of the first node
+     * @param id2 - id of the second node
+     * @return id of the lowest common ancestor of the two nodes
+     */
+    public int getLowestCommonAncestorId(int id1, int id2)
+    {
+        if(depth[id1] < depth[id2])
+        {
+            int swap = id1;
+            id1 = id2;
+            id2 = swap;
+        }
+
+        // Lift the deeper node to the depth of the other one
+        int levelsUp = depth[id1] - depth[id2];
+        for(int k = 0 ; levelsUp != 0 ; k++, levelsUp >>>= 1)
+        {
+            if((levelsUp & 1) != 0)
+            {
+                id1 = ancestors[k][id1];
+            }
+        }
+        if(id1 == id2)
+        {
+            return id1;
+        }
+
+        // Lift both nodes as high as possible while they stay below their common ancestor
+        for(int k = ancestors.length - 1 ; k >= 0 ; k--)
+        {
+            if(ancestors[k][id1] != ancestors[k][id2])
+            {
+                id1 = ancestors[k][id1];
+                id2 = ancestors[k][id2];
+            }
+        }
+        return ancestors[0][id1];
+    }
+
+    private static <T> int countNodes(TreeNode<T> root)
+    {
+        if(root == null)
+        {
+            return 0;
+        }
+        // Iterative, so a tree a million nodes deep does not overflow the stack
+        int count = 0;
+        ArrayDeque<TreeNode<T>> toVisit = new ArrayDeque<>();
+        toVisit.push(root);
+        while(!toVisit.isEmpty())
+        {
+            TreeNode<T> node = toVisit.pop();
+            count++;
+            if(node.getLeftSon() != null)
+            {
+                toVisit.push(node.getLeftSon());
+            }
+            if(node.getRightSon() != null)
+            {
+                toVisit.push(node.getRightSon());
+            }
+        }
+        return count;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> TreeNode<T>[] newNodeArray(int length)
+    {
+        return new TreeNode[length];
+    }
+}
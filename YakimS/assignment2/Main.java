@@ -44,5 +44,14 @@ public class Main {
                 SECOND_VALUE_TO_FIND_COMMON_ANCESTOR + ": " +
                 binaryTree.getLowestCommonAncestor(FIRST_VALUE_TO_FIND_COMMON_ANCESTOR,
                                                     SECOND_VALUE_TO_FIND_COMMON_ANCESTOR));
+
+        // test LcaIndex, built once for many queries
+        LcaIndex<Integer> lcaIndex = binaryTree.buildLcaIndex();
+        final int THIRD_VALUE_TO_FIND_COMMON_ANCESTOR = 9;
+        System.out.println("LcaIndex of " +
+                SECOND_VALUE_TO_FIND_COMMON_ANCESTOR + " & " +
+                THIRD_VALUE_TO_FIND_COMMON_ANCESTOR + ": " +
+                lcaIndex.getLowestCommonAncestor(SECOND_VALUE_TO_FIND_COMMON_ANCESTOR,
+                                                 THIRD_VALUE_TO_FIND_COMMON_ANCESTOR));
     }
 }
@@ -0,0 +1,148 @@
+package com.shaya.CodeUAss4Package;
+
+/**
+ * The island number of every tile of a map, built once by IslandsCounter.buildIslandIndex
+ * so that questions about the islands are answered without searching the map again.
+ * Islands are numbered from 1 to getIslandCount(), and water tiles are WATER.
+ * The numbers are stored row by row in the smallest array that can hold them:
+ * one byte per tile up to 255 islands, two bytes up to 65535 islands, four bytes otherwise.
+ * An index never changes once built, so it can be shared between threads.
+ */
+public final class IslandIndex {
+
+    public static final int WATER = 0;
+
+    private static final int MAX_BYTE_ISLANDS = 0xFF;
+    private static final int MAX_SHORT_ISLANDS = 0xFFFF;
+
+    private final int rows;
+    private final int columns;
+    private final int islandCount;
+    // Only one of the arrays is used, the smallest one that holds islandCount
+    private final byte[] byteNums;
+    private final short[] shortNums;
+    private final int[] intNums;
+
+    /**
+     * @param islandNumMap - island numbers of the tiles, where water tiles are 0 or -1
+     * @param islandCount - number of islands of the map
+     */
+    IslandIndex(int[][] islandNumMap, int islandCount) {
+        this.rows = islandNumMap.length;
+        this.columns = rows == 0 ? 0 : islandNumMap[0].length;
+        this.islandCount = islandCount;
+        int tiles = Math.multiplyExact(rows, columns);
+        byteNums = islandCount <= MAX_BYTE_ISLANDS ? new byte[tiles] : null;
+        shortNums = byteNums == null && islandCount <= MAX_SHORT_ISLANDS ? new short[tiles] : null;
+        intNums = byteNums == null && shortNums == null ? new int[tiles] : null;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                int islandNum = Math.max(WATER, islandNumMap[i][j]);
+                int tile = i * columns + j;
+                if (byteNums != null) {
+                    byteNums[tile] = (byte) islandNum;
+                } else if (shortNums != null) {
+                    shortNums[tile] = (short) islandNum;
+                } else {
+                    intNums[tile] = islandNum;
+                }
+            }
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getIslandCount() {
+        return islandCount;
+    }
+
+    /**
+     * @return number of bytes used to store the island number of each tile: 1, 2 or 4
+     */
+    public int getBytesPerTile() {
+        return byteNums != null ? 1 : shortNums != null ? 2 : 4;
+    }
+
+    /**
+     * @param i - row of the tile
+     * @param j - column of the tile
+     * @return number of the island holding the tile, or WATER if the tile is water
+     */
+    public int islandOf(int i, int j) {
+        return islandAt(checkTile(i, j));
+    }
+
+    /**
+     * @return true if both tiles are land and belong to the same island
+     */
+    public boolean isSameIsland(int i1, int j1, int i2, int j2) {
+        int islandNum = islandAt(checkTile(i1, j1));
+        return islandNum != WATER && islandNum == islandAt(checkTile(i2, j2));
+    }
+
+    /**
+     * Answers islandOf for many tiles at once.
+     *
+     * @param is - rows of the tiles
+     * @param js - columns of the tiles
+     * @return for each tile, the number of the island holding it or WATER
+     */
+    public int[] islandsOf(int[] is, int[] js) {
+        checkSameLength(is.length, js.length);
+        int[] islandNums = new int[is.length];
+        for (int k = 0; k < is.length; k++) {
+            islandNums[k] = islandAt(checkTile(is[k], js[k]));
+        }
+        return islandNums;
+    }
+
+    /**
+     * Answers isSameIsland for many pairs of tiles at once.
+     *
+     * @param is1 - rows of the first tiles of the pairs
+     * @param js1 - columns of the first tiles of the pairs
+     * @param is2 - rows of the second tiles of the pairs
+     * @param js2 - columns of the second tiles of the pairs
+     * @return for each pair, true if both tiles are land and belong to the same island
+     */
+    public boolean[] areSameIsland(int[] is1, int[] js1, int[] is2, int[] js2) {
+        checkSameLength(is1.length, js1.length);
+        checkSameLength(is1.length, is2.length);
+        checkSameLength(is1.length, js2.length);
+        boolean[] sameIsland = new boolean[is1.length];
+        for (int k = 0; k < is1.length; k++) {
+            int islandNum = islandAt(checkTile(is1[k], js1[k]));
+            sameIsland[k] = islandNum != WATER && islandNum == islandAt(checkTile(is2[k], js2[k]));
+        }
+        return sameIsland;
+    }
+
+    private int islandAt(int tile) {
+        if (byteNums != null) {
+            return byteNums[tile] & 0xFF;
+        }
+        if (shortNums != null) {
+            return shortNums[tile] & 0xFFFF;
+        }
+        return intNums[tile];
+    }
+
+    private int checkTile(int i, int j) {
+        if (i < 0 || i >= rows || j < 0 || j >= columns) {
+            throw new IllegalArgumentException("No tile (" + i + ", " + j + ")");
+        }
+        return i * columns + j;
+    }
+
+    private void checkSameLength(int length, int otherLength) {
+        if (length != otherLength) {
+            throw new IllegalArgumentException("Coordinate arrays have different lengths");
+        }
+    }
+}
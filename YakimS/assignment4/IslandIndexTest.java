@@ -0,0 +1,68 @@
+package com.shaya.CodeUAss4Package;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IslandIndexTest {
+
+    @Test
+    public void queriesOfExampleGrid() {
+        IslandsCounter islandsCounter = new IslandsCounter();
+
+        boolean[][] boolGrid = new boolean[][]
+                {
+                        { false , true, false, true },
+                        { true , true, false, false },
+                        { false , false, true, false },
+                        { false , false, true, false },
+                };
+
+        IslandIndex index = islandsCounter.buildIslandIndex(boolGrid);
+
+        assertEquals(3, index.getIslandCount());
+        assertEquals(1, index.getBytesPerTile());
+        assertEquals(1, index.islandOf(1, 0));
+        assertEquals(2, index.islandOf(0, 3));
+        assertEquals(3, index.islandOf(3, 2));
+        assertEquals(IslandIndex.WATER, index.islandOf(3, 3));
+        assertTrue(index.isSameIsland(0, 1, 1, 0));
+        assertFalse(index.isSameIsland(0, 1, 0, 3));
+        // Two water tiles are not on the same island
+        assertFalse(index.isSameIsland(0, 0, 0, 2));
+
+        assertArrayEquals(new int[] { 1, 0, 3 }, index.islandsOf(new int[] { 1, 2, 2 }, new int[] { 1, 1, 2 }));
+        boolean[] sameIsland = index.areSameIsland(new int[] { 0, 2 }, new int[] { 1, 2 },
+                new int[] { 1, 0 }, new int[] { 1, 3 });
+        assertTrue(sameIsland[0]);
+        assertFalse(sameIsland[1]);
+    }
+
+    @Test
+    public void manyIslandsUseWiderNumbers() {
+        IslandsCounter islandsCounter = new IslandsCounter();
+
+        // A checkerboard of 300 by 300 tiles has 45000 islands of a single tile
+        boolean[][] boolGrid = new boolean[300][300];
+        for (int i = 0; i < boolGrid.length; i++) {
+            for (int j = 0; j < boolGrid[i].length; j++) {
+                boolGrid[i][j] = (i + j) % 2 == 0;
+            }
+        }
+
+        IslandIndex index = islandsCounter.buildIslandIndex(boolGrid);
+
+        assertEquals(45000, index.getIslandCount());
+        assertEquals(2, index.getBytesPerTile());
+        assertEquals(45000, index.islandOf(299, 299));
+        assertFalse(index.isSameIsland(0, 0, 1, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tileOutsideMap() {
+        new IslandsCounter().buildIslandIndex(new boolean[][] { { true } }).islandOf(1, 0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.shaya.CodeUAss4Package;
+
+import java.util.Arrays;
+
+/**
+ * Statistics of every island of a map, collected while the islands are numbered.
+ * Islands are numbered from 1 to getIslandCount(), in the same order as in
+ * the island numbers map of IslandsCounter.
+ * All the statistics are kept in primitive arrays indexed by island number.
+ */
+public class IslandStats {
+
+    private int islandCount;
+    private int[] area = new int[16];
+    private int[] perimeter = new int[16];
+    private int[] minRow = new int[16];
+    private int[] maxRow = new int[16];
+    private int[] minColumn = new int[16];
+    private int[] maxColumn = new int[16];
+    private long[] rowSum = new long[16];
+    private long[] columnSum = new long[16];
+
+    /**
+     * Starts the statistics of a new island.
+     *
+     * @return the number of the new island
+     */
+    int addIsland() {
+        if (islandCount == area.length) {
+            int capacity = area.length * 2;
+            area = Arrays.copyOf(area, capacity);
+            perimeter = Arrays.copyOf(perimeter, capacity);
+            minRow = Arrays.copyOf(minRow, capacity);
+            maxRow = Arrays.copyOf(maxRow, capacity);
+            minColumn = Arrays.copyOf(minColumn, capacity);
+            maxColumn = Arrays.copyOf(maxColumn, capacity);
+            rowSum = Arrays.copyOf(rowSum, capacity);
+            columnSum = Arrays.copyOf(columnSum, capacity);
+        }
+        minRow[islandCount] = Integer.MAX_VALUE;
+        maxRow[islandCount] = Integer.MIN_VALUE;
+        minColumn[islandCount] = Integer.MAX_VALUE;
+        maxColumn[islandCount] = Integer.MIN_VALUE;
+        return ++islandCount;
+    }
+
+    /**
+     * Adds a tile to an island.
+     *
+     * @param islandNum - number of the island
+     * @param i - row of the tile
+     * @param j - column of the tile
+     * @param waterSides - number of sides of the tile that touch water or the edge of the map
+     */
+    void addTile(int islandNum, int i, int j, int waterSides) {
+        int index = islandNum - 1;
+        area[index]++;
+        perimeter[index] += waterSides;
+        minRow[index] = Math.min(minRow[index], i);
+        maxRow[index] = Math.max(maxRow[index], i);
+        minColumn[index] = Math.min(minColumn[index], j);
+        maxColumn[index] = Math.max(maxColumn[index], j);
+        rowSum[index] += i;
+        columnSum[index] += j;
+    }
+
+    public int getIslandCount() {
+        return islandCount;
+    }
+
+    /**
+     * @return number of tiles of the island
+     */
+    public int getArea(int islandNum) {
+        return area[checkIsland(islandNum)];
+    }
+
+    /**
+     * @return number of tile sides of the island that touch water or the edge of the map
+     */
+    public int getPerimeter(int islandNum) {
+        return perimeter[checkIsland(islandNum)];
+    }
+
+    public int getMinRow(int islandNum) {
+        return minRow[checkIsland(islandNum)];
+    }
+
+    public int getMaxRow(int islandNum) {
+        return maxRow[checkIsland(islandNum)];
+    }
+
+    public int getMinColumn(int islandNum) {
+        return minColumn[checkIsland(islandNum)];
+    }
+
+    public int getMaxColumn(int islandNum) {
+        return maxColumn[checkIsland(islandNum)];
+    }
+
+    /**
+     * @return mean row of the tiles of the island
+     */
+    public double getCentroidRow(int islandNum) {
+        int index = checkIsland(islandNum);
+        return (double) rowSum[index] / area[index];
+    }
+
+    /**
+     * @return mean column of the tiles of the island
+     */
+    public double getCentroidColumn(int islandNum) {
+        int index = checkIsland(islandNum);
+        return (double) columnSum[index] / area[index];
+    }
+
+    private int checkIsland(int islandNum) {
+        if (islandNum < 1 || islandNum > islandCount) {
+            throw new IllegalArgumentException("No island number " + islandNum);
+        }
+        return islandNum - 1;
+    }
+}
@@ -0,0 +1,104 @@
+package com.shaya.CodeUAss4Package;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class IslandStatsTest {
+
+    @Test
+    public void statsOfExampleGrid() {
+        IslandsCounter islandsCounter = new IslandsCounter();
+
+        boolean[][] boolGrid = new boolean[][]
+                {
+                        { false , true, false, true },
+                        { true , true, false, false },
+                        { false , false, true, false },
+                        { false , false, true, false },
+                };
+
+        IslandStats stats = islandsCounter.computeIslandStats(boolGrid);
+
+        assertEquals(3, stats.getIslandCount());
+
+        // Island 1 is the L shape in the top left corner
+        assertEquals(3, stats.getArea(1));
+        assertEquals(8, stats.getPerimeter(1));
+        assertEquals(0, stats.getMinRow(1));
+        assertEquals(1, stats.getMaxRow(1));
+        assertEquals(0, stats.getMinColumn(1));
+        assertEquals(1, stats.getMaxColumn(1));
+        assertEquals(2.0 / 3, stats.getCentroidRow(1), 1e-9);
+        assertEquals(2.0 / 3, stats.getCentroidColumn(1), 1e-9);
+
+        // Island 2 is the single tile in the top right corner
+        assertEquals(1, stats.getArea(2));
+        assertEquals(4, stats.getPerimeter(2));
+        assertEquals(3.0, stats.getCentroidColumn(2), 1e-9);
+
+        // Island 3 is the vertical bar at the bottom
+        assertEquals(2, stats.getArea(3));
+        assertEquals(6, stats.getPerimeter(3));
+        assertEquals(2, stats.getMinRow(3));
+        assertEquals(3, stats.getMaxRow(3));
+        assertEquals(2.5, stats.getCentroidRow(3), 1e-9);
+    }
+
+    @Test
+    public void statsOfAllLandGrid() {
+        IslandsCounter islandsCounter = new IslandsCounter();
+
+        boolean[][] boolGrid = new boolean[40][30];
+        for (boolean[] row : boolGrid) {
+            java.util.Arrays.fill(row, true);
+        }
+
+        IslandStats stats = islandsCounter.computeIslandStats(boolGrid);
+
+        assertEquals(1, stats.getIslandCount());
+        assertEquals(1200, stats.getArea(1));
+        assertEquals(140, stats.getPerimeter(1));
+        assertEquals(39, stats.getMaxRow(1));
+        assertEquals(29, stats.getMaxColumn(1));
+        assertEquals(19.5, stats.getCentroidRow(1), 1e-9);
+        assertEquals(14.5, stats.getCentroidColumn(1), 1e-9);
+    }
+
+    @Test
+    public void statsOfManyIslands() {
+        IslandsCounter islandsCounter = new IslandsCounter();
+
+        boolean[][] boolGrid = new boolean[20][20];
+        for (int i = 0; i < 20; i += 2) {
+            for (int j = 0; j < 20; j += 2) {
+                boolGrid[i][j] = true;
+            }
+        }
+
+        IslandStats stats = islandsCounter.computeIslandStats(boolGrid);
+
+        assertEquals(100, stats.getIslandCount());
+        assertEquals(islandsCounter.countIslands(boolGrid), stats.getIslandCount());
+        assertEquals(18, stats.getMinRow(100));
+        assertEquals(18, stats.getMinColumn(100));
+    }
+
+    @Test
+    public void statsOfEmptyGrid() {
+        IslandsCounter islandsCounter = new IslandsCounter();
+
+        IslandStats stats = islandsCounter.computeIslandStats(new boolean[][] {});
+
+        assertEquals(0, stats.getIslandCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownIslandNumber() {
+        IslandsCounter islandsCounter = new IslandsCounter();
+
+        boolean[][] boolGrid = new boolean[][] {{ true }};
+
+        islandsCounter.computeIslandStats(boolGrid).getArea(2);
+    }
+}
@@ -14,9 +14,43 @@ public class IslandsCounter {
      * @return number of "islands" in the map.
      */
     public int countIslands(boolean[][] map) {
+        return numberIslands(map, createIslandNumMap(map), null);
+    }
+
+    /**
+     *  Collects the area, perimeter, bounding box and centroid of every island in a map,
+     *  while the islands are numbered, without any other pass over the map.
+     *
+     * @param map - 2-dimensional array,
+     *            which each tile of it is either land(=true) or water(=false).
+     * @return statistics of the islands, numbered from 1 in the order their first tile
+     *          is found scanning the map row by row.
+     */
+    public IslandStats computeIslandStats(boolean[][] map) {
+        IslandStats stats = new IslandStats();
+        numberIslands(map, createIslandNumMap(map), stats);
+        return stats;
+    }
+
+    /**
+     *  Numbers the islands of a map once, so that afterwards the island of any tile
+     *  is known without searching the map again.
+     *
+     * @param map - 2-dimensional array,
+     *            which each tile of it is either land(=true) or water(=false).
+     * @return an index of the island numbers of the tiles, numbered from 1 in the order
+     *          their first tile is found scanning the map row by row.
+     */
+    public IslandIndex buildIslandIndex(boolean[][] map) {
+        int[][] islandNumMap = createIslandNumMap(map);
+        int islandCount = numberIslands(map, islandNumMap, null);
+        return new IslandIndex(islandNumMap, islandCount);
+    }
+
+    private int[][] createIslandNumMap(boolean[][] map) {
         // make sure the given array is 2-dim
         if (map.length==0){
-            return 0;
+            return new int[0][0];
         }
 
         int[][] islandNumMap = new int[map.length][map[0].length];
@@ -24,18 +58,26 @@ public class IslandsCounter {
             // "-1" will be an indication that the corresponding cell in the boolean map have not been investigated
             Arrays.fill(islandNumMap[i], -1);
         }
+        return islandNumMap;
+    }
+
+    private int numberIslands(boolean[][] map, int[][] islandNumMap, IslandStats stats) {
         int islandCounter = 0;
         for (int i = 0; i < map.length; i++) {
             for (int j = 0; j < map[0].length; j++) {
                 if (map[i][j] && islandNumMap[i][j] == -1) {
-                    investigateNearCellsOnMap(map, islandNumMap, i, j, ++islandCounter);
+                    if (stats != null) {
+                        stats.addIsland();
+                    }
+                    investigateNearCellsOnMap(map, islandNumMap, i, j, ++islandCounter, stats);
                 }
             }
         }
         return islandCounter;
     }
 
-    private void investigateNearCellsOnMap(boolean[][] boolMap, int[][] islandNumMap, int i, int j, int islandNum) {
+    private void investigateNearCellsOnMap(boolean[][] boolMap, int[][] islandNumMap, int i, int j, int islandNum,
+                                           IslandStats stats) {
 
         // If indexes out of bounds
         if(i >= boolMap.length || j >= boolMap[0].length || j < 0 || i < 0) {
@@ -52,12 +94,33 @@ public class IslandsCounter {
         } else {
             // Indicates that this part of the map is part of the island with the number "islandNum"
             islandNumMap[i][j] = islandNum;
+            if (stats != null) {
+                stats.addTile(islandNum, i, j, countWaterSides(boolMap, i, j));
+            }
 
             // Investigate horizontal and vertical cells
-            investigateNearCellsOnMap(boolMap, islandNumMap, i + 1, j, islandNum);
-            investigateNearCellsOnMap(boolMap, islandNumMap, i - 1, j, islandNum);
-            investigateNearCellsOnMap(boolMap, islandNumMap, i, j + 1, islandNum);
-            investigateNearCellsOnMap(boolMap, islandNumMap, i, j - 1, islandNum);
+            investigateNearCellsOnMap(boolMap, islandNumMap, i + 1, j, islandNum, stats);
+            investigateNearCellsOnMap(boolMap, islandNumMap, i - 1, j, islandNum, stats);
+            investigateNearCellsOnMap(boolMap, islandNumMap, i, j + 1, islandNum, stats);
+            investigateNearCellsOnMap(boolMap, islandNumMap, i, j - 1, islandNum, stats);
+        }
+    }
+
+    // Counts the sides of a land tile that touch water or the edge of the map
+    private int countWaterSides(boolean[][] boolMap, int i, int j) {
+        int waterSides = 0;
+        if (i == 0 || !boolMap[i - 1][j]) {
+            waterSides++;
+        }
+        if (i == boolMap.length - 1 || !boolMap[i + 1][j]) {
+            waterSides++;
+        }
+        if (j == 0 || !boolMap[i][j - 1]) {
+            waterSides++;
+        }
+        if (j == boolMap[0].length - 1 || !boolMap[i][j + 1]) {
+            waterSides++;
         }
+        return waterSides;
     }
 }
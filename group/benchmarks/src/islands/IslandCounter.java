@@ -0,0 +1,111 @@
+package islands;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * The island counters of the group, behind a single method.
+ *
+ * <p>CountIslands and IslandFinder are in the default package, which can not be
+ * imported from a named package such as this one, so they are looked up by name
+ * and called through method handles. The lookup is done once, so each call only
+ * adds the cost of invoking the handle.
+ */
+public enum IslandCounter {
+
+  /**
+   * uro98/assignment4: scan-line flood fill on a copy of the map.
+   */
+  COUNT_ISLANDS {
+    @Override
+    MethodHandle findHandle() throws ReflectiveOperationException {
+      MethodHandle countIslands = MethodHandles.publicLookup().findStatic(Class.forName("CountIslands"),
+        "countIslands", MethodType.methodType(int.class, int.class, int.class, boolean[][].class));
+      //countIslands(map.length, map[0].length, map)
+      MethodHandle nrRows = MethodHandles.arrayLength(boolean[][].class);
+      MethodHandle nrColumns = MethodHandles.filterReturnValue(
+        MethodHandles.insertArguments(MethodHandles.arrayElementGetter(boolean[][].class), 1, 0),
+        MethodHandles.arrayLength(boolean[].class));
+      MethodHandle withDimensions = MethodHandles.filterArguments(countIslands, 0, nrRows, nrColumns);
+      return MethodHandles.permuteArguments(withDimensions,
+        MethodType.methodType(int.class, boolean[][].class), 0, 0, 0);
+    }
+  },
+
+  /**
+   * stelaval/assignment4: iterative span fill over a visited array.
+   */
+  STELAVAL_ISLANDS_COUNTER {
+    private final assignment4.IslandsCounter counter = new assignment4.IslandsCounter();
+
+    @Override
+    public int countIslands(boolean[][] map) {
+      return counter.countIslands(map);
+    }
+  },
+
+  /**
+   * YakimS/assignment4: recursive depth-first numbering of the islands.
+   */
+  YAKIMS_ISLANDS_COUNTER {
+    private final com.shaya.CodeUAss4Package.IslandsCounter counter =
+      new com.shaya.CodeUAss4Package.IslandsCounter();
+
+    @Override
+    public int countIslands(boolean[][] map) {
+      return counter.countIslands(map);
+    }
+  },
+
+  /**
+   * narciuch/assignment4: one pass with a union-find over the labels of two rows.
+   */
+  ISLAND_FINDER {
+    @Override
+    MethodHandle findHandle() throws ReflectiveOperationException {
+      Class<?> finderClass = Class.forName("IslandFinder");
+      MethodHandle getIslands = MethodHandles.publicLookup().findVirtual(finderClass, "getIslands",
+        MethodType.methodType(int.class, boolean[][].class));
+      return getIslands.bindTo(finderClass.getConstructor().newInstance());
+    }
+  };
+
+  private MethodHandle handle;
+
+  /**
+   * Returns the number of islands in the map, with four neighbours.
+   *
+   * @param map nested boolean array, with true representing land,
+   *            false representing water, with at least one row
+   * @return the number of islands in the map
+   */
+  public int countIslands(boolean[][] map) {
+    try {
+      return (int) handle().invokeExact(map);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return a handle of type (boolean[][]) int counting the islands, for counters
+   * that are not called directly
+   */
+  MethodHandle findHandle() throws ReflectiveOperationException {
+    throw new UnsupportedOperationException(name() + " is called directly.");
+  }
+
+  private MethodHandle handle() {
+    if (handle == null) {
+      try {
+        handle = findHandle();
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(name() + " is not on the class path.", e);
+      }
+    }
+    return handle;
+  }
+}
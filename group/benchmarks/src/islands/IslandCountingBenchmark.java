@@ -0,0 +1,75 @@
+package islands;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the island counters of the group on square maps of every
+ * {@link MapShape} and several sizes, in operations per second.
+ *
+ * <p>Run through {@link #main(String[])}, the allocation per operation is
+ * reported too, as gc.alloc.rate.norm in bytes. A counter that overflows the
+ * stack on a map fails its setup with a message saying so, and JMH moves on
+ * to the next combination.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IslandCountingBenchmark {
+
+  static final long SEED = 42;
+
+  @Param
+  public IslandCounter counter;
+
+  @Param
+  public MapShape shape;
+
+  @Param({"64", "512", "2048"})
+  public int size;
+
+  private boolean[][] map;
+
+  @Setup(Level.Trial)
+  public void generateMap() {
+    map = shape.generate(size, size, SEED);
+    try {
+      counter.countIslands(map);
+    } catch (StackOverflowError e) {
+      throw new IllegalStateException(StackOverflowCheck.describe(counter, shape, size) + " overflows the stack.");
+    }
+  }
+
+  @Benchmark
+  public int countIslands() {
+    return counter.countIslands(map);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+      .include(IslandCountingBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build();
+    new Runner(options).run();
+  }
+}
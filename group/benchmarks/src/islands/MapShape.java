@@ -0,0 +1,123 @@
+package islands;
+
+import java.util.Random;
+
+/**
+ * Shapes of maps to count islands on, each generated from a seed so that
+ * every implementation is measured on the same tiles.
+ */
+public enum MapShape {
+
+  /**
+   * Every tile is land with probability 0.5927, the site percolation threshold
+   * of the square lattice, where islands of every size up to the whole map appear.
+   */
+  PERCOLATION {
+    @Override
+    void draw(boolean[][] map, Random random) {
+      for (boolean[] row : map) {
+        for (int column = 0; column < row.length; column++) {
+          row[column] = random.nextDouble() < PERCOLATION_THRESHOLD;
+        }
+      }
+    }
+  },
+
+  /**
+   * A single island covering the map, with random holes of single water tiles
+   * that can never split it. Recursive flood fills go as deep as the map is large.
+   */
+  GIANT_ISLAND {
+    @Override
+    void draw(boolean[][] map, Random random) {
+      for (int row = 0; row < map.length; row++) {
+        for (int column = 0; column < map[row].length; column++) {
+          //Water only where both coordinates are odd, so every water tile is surrounded by land
+          boolean hole = (row & column & 1) == 1 && random.nextInt(4) == 0;
+          map[row][column] = !hole;
+        }
+      }
+    }
+  },
+
+  /**
+   * Land and water alternating in both directions, so every land tile is an
+   * island of its own: the most islands a map can hold.
+   */
+  CHECKERBOARD {
+    @Override
+    void draw(boolean[][] map, Random random) {
+      for (int row = 0; row < map.length; row++) {
+        for (int column = 0; column < map[row].length; column++) {
+          map[row][column] = ((row + column) & 1) == 0;
+        }
+      }
+    }
+  },
+
+  /**
+   * A single path of land one tile wide, spiralling from the border to the
+   * centre with one tile of water between its laps. Its tiles are all in one
+   * island but far apart along the path, the worst case for depth-first searches
+   * and for merging labels row by row.
+   */
+  SPIRAL {
+    @Override
+    void draw(boolean[][] map, Random random) {
+      int top = 0;
+      int left = 0;
+      int bottom = map.length - 1;
+      int right = map.length == 0 ? -1 : map[0].length - 1;
+      while (top <= bottom && left <= right) {
+        for (int column = left; column <= right; column++) {
+          map[top][column] = true;
+        }
+        if (top + 2 > bottom) {
+          return;
+        }
+        for (int row = top; row <= bottom; row++) {
+          map[row][right] = true;
+        }
+        if (right - 2 < left) {
+          return;
+        }
+        for (int column = right; column >= left; column--) {
+          map[bottom][column] = true;
+        }
+        if (bottom - 2 < top + 2) {
+          return;
+        }
+        for (int row = bottom; row >= top + 2; row--) {
+          map[row][left] = true;
+        }
+        //Joins the left side to the top of the next lap
+        map[top + 2][left + 1] = true;
+        top += 2;
+        left += 2;
+        bottom -= 2;
+        right -= 2;
+      }
+    }
+  };
+
+  /**
+   * The site percolation threshold of the square lattice with four neighbours.
+   */
+  public static final double PERCOLATION_THRESHOLD = 0.592746;
+
+  /**
+   * Generates a map of this shape.
+   *
+   * @param nrRows    number of rows of the map
+   * @param nrColumns number of columns of the map
+   * @param seed      seed of the random tiles, ignored by shapes with none
+   * @return the map, with true representing land, false representing water
+   */
+  public boolean[][] generate(int nrRows, int nrColumns, long seed) {
+    boolean[][] map = new boolean[nrRows][nrColumns];
+    draw(map, new Random(seed));
+    return map;
+  }
+
+  abstract void draw(boolean[][] map, Random random);
+}
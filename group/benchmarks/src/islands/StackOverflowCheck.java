@@ -0,0 +1,38 @@
+package islands;
+
+/**
+ * Runs every island counter once on every {@link MapShape} and size, and
+ * prints which ones overflow the stack, without measuring anything.
+ *
+ * <p>The counters run in a new thread with the default stack size, as the
+ * benchmark threads of JMH do, rather than in the main thread whose stack is
+ * often larger.
+ */
+public class StackOverflowCheck {
+  private static final int[] SIZES = {64, 512, 2048};
+
+  public static void main(String[] args) throws InterruptedException {
+    for (IslandCounter counter : IslandCounter.values()) {
+      for (MapShape shape : MapShape.values()) {
+        for (int size : SIZES) {
+          boolean[][] map = shape.generate(size, size, IslandCountingBenchmark.SEED);
+          String[] result = new String[1];
+          Thread thread = new Thread(() -> {
+            try {
+              result[0] = counter.countIslands(map) + " islands";
+            } catch (StackOverflowError e) {
+              result[0] = "STACK OVERFLOW";
+            }
+          });
+          thread.start();
+          thread.join();
+          System.out.println(describe(counter, shape, size) + ": " + result[0]);
+        }
+      }
+    }
+  }
+
+  static String describe(IslandCounter counter, MapShape shape, int size) {
+    return counter + " on " + shape + " " + size + "x" + size;
+  }
+}
@@ -0,0 +1,61 @@
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class finds runs of land a vector of tiles at a time with the Vector API:
+ * 32 tiles per comparison with 256-bit vectors, 64 with 512-bit vectors.
+ *
+ * <p>Each comparison gives a mask with one bit per land tile. A tile starts or
+ * ends a run where its bit differs from the bit of the tile before it, so the
+ * boundaries are the set bits of the mask xor the mask shifted by one, and are
+ * read with {@link Long#numberOfTrailingZeros(long)} without visiting the
+ * tiles inside the runs. The tiles past the last whole vector are read one at a time.
+ */
+public class VectorByteRunFinder implements ByteRunFinder {
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() <= 64
+    ? ByteVector.SPECIES_PREFERRED : ByteVector.SPECIES_512;
+
+  @Override
+  public int findRuns(byte[] tiles, int offset, int length, int[] starts, int[] ends) {
+    int lanes = SPECIES.length();
+    long laneBits = lanes == 64 ? -1L : (1L << lanes) - 1;
+    int nrRuns = 0;
+    boolean inRun = false;
+    //Whether the tile before the current vector is land, as the lowest bit
+    long previousLand = 0;
+    int column = 0;
+    int vectorEnd = SPECIES.loopBound(length);
+    for (; column < vectorEnd; column += lanes) {
+      long land = ByteVector.fromArray(SPECIES, tiles, offset + column)
+        .compare(VectorOperators.NE, (byte) 0).toLong();
+      long boundaries = (land ^ ((land << 1) | previousLand)) & laneBits;
+      previousLand = land >>> (lanes - 1);
+      while (boundaries != 0) {
+        int boundary = column + Long.numberOfTrailingZeros(boundaries);
+        if (inRun) {
+          ends[nrRuns++] = boundary;
+        } else {
+          starts[nrRuns] = boundary;
+        }
+        inRun = !inRun;
+        boundaries &= boundaries - 1;
+      }
+    }
+    for (; column < length; column++) {
+      boolean land = tiles[offset + column] != 0;
+      if (land != inRun) {
+        if (inRun) {
+          ends[nrRuns++] = column;
+        } else {
+          starts[nrRuns] = column;
+        }
+        inRun = land;
+      }
+    }
+    if (inRun) {
+      ends[nrRuns++] = length;
+    }
+    return nrRuns;
+  }
+}
@@ -0,0 +1,168 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * This class counts the islands of many small maps, spread over the threads
+ * of an executor.
+ *
+ * <p>The maps are counted in tasks of several maps each, as
+ * {@link IslandFinder#getIslands(boolean[][])} does, but with a union-find and
+ * label arrays reused from one map to the next. These buffers grow to the
+ * largest map seen and are kept in a pool rather than in thread-locals, so
+ * they are reused whether the executor runs on a few platform threads or
+ * starts a virtual thread for every task.
+ */
+public class BatchIslandCounter {
+  private static final int MAPS_PER_TASK = 32;
+  //Tasks submitted but not collected yet, which bounds the maps held at once
+  private static final int MAX_PENDING_TASKS = 64;
+
+  private final Executor executor;
+  private final int mapsPerTask;
+  private final IslandFinder finder = new IslandFinder();
+  private final ConcurrentLinkedQueue<Buffers> buffers = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Creates a counter that runs on the common fork-join pool.
+   */
+  public BatchIslandCounter() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param executor the executor the maps are counted in, for instance a pool of
+   *                 platform threads or, from Java 21, Executors.newVirtualThreadPerTaskExecutor()
+   */
+  public BatchIslandCounter(Executor executor) {
+    this(executor, MAPS_PER_TASK);
+  }
+
+  /**
+   * @param executor    the executor the maps are counted in
+   * @param mapsPerTask number of maps counted by each task submitted to the executor
+   */
+  public BatchIslandCounter(Executor executor, int mapsPerTask) {
+    if (mapsPerTask <= 0) {
+      throw new IllegalArgumentException("Each task must count at least one map.");
+    }
+    this.executor = executor;
+    this.mapsPerTask = mapsPerTask;
+  }
+
+  /**
+   * Returns the number of islands of each map.
+   *
+   * @param maps nested boolean arrays, with true representing land,
+   *             false representing water
+   * @return the number of islands of each map, in the order of the maps
+   */
+  public int[] countIslands(Collection<boolean[][]> maps) {
+    return countIslands(maps.iterator());
+  }
+
+  /**
+   * Returns the number of islands of each map of a stream, which is consumed
+   * as the maps are counted, so only a bounded number of maps is held at once.
+   *
+   * @param maps nested boolean arrays, with true representing land,
+   *             false representing water
+   * @return the number of islands of each map, in the order of the stream
+   */
+  public int[] countIslands(Stream<boolean[][]> maps) {
+    return countIslands(maps.iterator());
+  }
+
+  private int[] countIslands(Iterator<boolean[][]> maps) {
+    ArrayDeque<CompletableFuture<int[]>> pending = new ArrayDeque<>();
+    int[] counts = new int[16];
+    int nrCounts = 0;
+    while (maps.hasNext()) {
+      boolean[][][] task = new boolean[mapsPerTask][][];
+      int nrMaps = 0;
+      while (nrMaps < mapsPerTask && maps.hasNext()) {
+        task[nrMaps++] = maps.next();
+      }
+      int taskSize = nrMaps;
+      pending.add(CompletableFuture.supplyAsync(() -> countTask(task, taskSize), executor));
+      if (pending.size() == MAX_PENDING_TASKS) {
+        int[] taskCounts = join(pending.remove());
+        counts = append(counts, nrCounts, taskCounts);
+        nrCounts += taskCounts.length;
+      }
+    }
+    while (!pending.isEmpty()) {
+      int[] taskCounts = join(pending.remove());
+      counts = append(counts, nrCounts, taskCounts);
+      nrCounts += taskCounts.length;
+    }
+    return Arrays.copyOf(counts, nrCounts);
+  }
+
+  private int[] countTask(boolean[][][] maps, int nrMaps) {
+    Buffers taskBuffers = buffers.poll();
+    if (taskBuffers == null) {
+      taskBuffers = new Buffers();
+    }
+    try {
+      int[] counts = new int[nrMaps];
+      for (int map = 0; map < nrMaps; map++) {
+        counts[map] = taskBuffers.countIslands(maps[map]);
+      }
+      return counts;
+    } finally {
+      buffers.add(taskBuffers);
+    }
+  }
+
+  private static int[] join(CompletableFuture<int[]> task) {
+    try {
+      return task.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static int[] append(int[] counts, int nrCounts, int[] taskCounts) {
+    if (nrCounts + taskCounts.length > counts.length) {
+      counts = Arrays.copyOf(counts, Math.max(nrCounts + taskCounts.length, counts.length * 2));
+    }
+    System.arraycopy(taskCounts, 0, counts, nrCounts, taskCounts.length);
+    return counts;
+  }
+
+  /**
+   * The union-find and label arrays used by one task at a time.
+   */
+  private class Buffers {
+    private final UnionFind islands = new UnionFind(16);
+    private int[] aboveLabels = new int[0];
+    private int[] rowLabels = new int[0];
+
+    int countIslands(boolean[][] lands) {
+      if (lands.length == 0 || lands[0].length == 0) {
+        return 0;
+      }
+      int nrColumns = lands[0].length;
+      if (nrColumns > aboveLabels.length) {
+        aboveLabels = new int[nrColumns];
+        rowLabels = new int[nrColumns];
+      }
+      islands.clear();
+      return finder.getIslands(lands, islands, aboveLabels, rowLabels);
+    }
+  }
+}
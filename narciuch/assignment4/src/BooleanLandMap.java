@@ -0,0 +1,58 @@
+/**
+ * This class exposes a nested boolean array as a {@link LandMap},
+ * without copying it.
+ */
+public class BooleanLandMap implements LandMap {
+  private final boolean[][] lands;
+
+  /**
+   * @param lands nested boolean array, with true representing land,
+   *              false representing water
+   */
+  public BooleanLandMap(boolean[][] lands) {
+    this.lands = lands;
+  }
+
+  @Override
+  public int getNrRows() {
+    return lands.length;
+  }
+
+  @Override
+  public int getNrColumns() {
+    return lands.length == 0 ? 0 : lands[0].length;
+  }
+
+  @Override
+  public int findRuns(int row, int[] starts, int[] ends) {
+    return findRuns(lands[row], starts, ends);
+  }
+
+  /**
+   * Finds the horizontal runs of land of a row of tiles.
+   *
+   * @param tiles  the row, with true representing land, false representing water
+   * @param starts receives the first column of each run, in increasing order.
+   *               Must have room for (tiles.length + 1) / 2 runs.
+   * @param ends   receives the column after the last column of each run
+   * @return the number of runs found
+   */
+  public static int findRuns(boolean[] tiles, int[] starts, int[] ends) {
+    int nrRuns = 0;
+    int column = 0;
+    while (column < tiles.length) {
+      while (column < tiles.length && !tiles[column]) {
+        column++;
+      }
+      if (column == tiles.length) {
+        break;
+      }
+      starts[nrRuns] = column;
+      while (column < tiles.length && tiles[column]) {
+        column++;
+      }
+      ends[nrRuns++] = column;
+    }
+    return nrRuns;
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * This class stores a map with one byte per tile, row after row, where any
+ * non-zero byte is land. Its runs are found by a {@link ByteRunFinder}.
+ */
+public class ByteLandMap implements LandMap {
+  private final int nrRows;
+  private final int nrColumns;
+  private final byte[] tiles;
+  private final ByteRunFinder runFinder;
+
+  /**
+   * Wraps the tiles without copying them, finding runs with {@link ByteRunFinder#select()}.
+   *
+   * @param nrRows    number of rows of the map
+   * @param nrColumns number of columns of the map
+   * @param tiles     the tiles, row after row
+   */
+  public ByteLandMap(int nrRows, int nrColumns, byte[] tiles) {
+    this(nrRows, nrColumns, tiles, ByteRunFinder.select());
+  }
+
+  /**
+   * Wraps the tiles without copying them.
+   *
+   * @param nrRows    number of rows of the map
+   * @param nrColumns number of columns of the map
+   * @param tiles     the tiles, row after row
+   * @param runFinder finds the runs of the rows
+   */
+  public ByteLandMap(int nrRows, int nrColumns, byte[] tiles, ByteRunFinder runFinder) {
+    if (nrRows < 0 || nrColumns < 0 || (long) nrRows * nrColumns != tiles.length) {
+      throw new IllegalArgumentException("Tiles do not match a " + nrRows + " by " + nrColumns + " map.");
+    }
+    this.nrRows = nrRows;
+    this.nrColumns = nrColumns;
+    this.tiles = tiles;
+    this.runFinder = runFinder;
+  }
+
+  /**
+   * Copies a nested boolean array, finding runs with {@link ByteRunFinder#select()}.
+   *
+   * @param lands nested boolean array, with true representing land,
+   *              false representing water
+   * @return the copied map
+   */
+  public static ByteLandMap fromBooleans(boolean[][] lands) {
+    int nrColumns = lands.length == 0 ? 0 : lands[0].length;
+    byte[] tiles = new byte[Math.multiplyExact(lands.length, nrColumns)];
+    for (int row = 0; row < lands.length; row++) {
+      for (int column = 0; column < nrColumns; column++) {
+        tiles[row * nrColumns + column] = (byte) (lands[row][column] ? 1 : 0);
+      }
+    }
+    return new ByteLandMap(lands.length, nrColumns, tiles);
+  }
+
+  @Override
+  public int getNrRows() {
+    return nrRows;
+  }
+
+  @Override
+  public int getNrColumns() {
+    return nrColumns;
+  }
+
+  public ByteRunFinder getRunFinder() {
+    return runFinder;
+  }
+
+  @Override
+  public int findRuns(int row, int[] starts, int[] ends) {
+    if (row < 0 || row >= nrRows) {
+      throw new IndexOutOfBoundsException("Row " + row + " is outside the map.");
+    }
+    return runFinder.findRuns(tiles, row * nrColumns, nrColumns, starts, ends);
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Finds the horizontal runs of land of a row stored with one byte per tile,
+ * where any non-zero byte is land.
+ *
+ * <p>There is a scalar implementation, and one using the incubating Vector API
+ * that compares a whole vector of tiles at once. The vector one lives in the
+ * separate source root src-vector, because it needs the module
+ * jdk.incubator.vector, added with --add-modules jdk.incubator.vector when
+ * compiling and running. Without it, {@link #select()} falls back to the scalar one.
+ */
+public interface ByteRunFinder {
+
+  /**
+   * System property choosing the implementation returned by {@link #select()}:
+   * "scalar", "vector", or "auto" to use the vector one when available.
+   */
+  String PROPERTY = "islands.runFinder";
+
+  /**
+   * Finds the runs of land of a row.
+   *
+   * @param tiles  the array holding the row
+   * @param offset the index of the first tile of the row
+   * @param length the number of tiles of the row
+   * @param starts receives the first column of each run, in increasing order.
+   *               Must have room for (length + 1) / 2 runs.
+   * @param ends   receives the column after the last column of each run
+   * @return the number of runs found
+   */
+  int findRuns(byte[] tiles, int offset, int length, int[] starts, int[] ends);
+
+  static ByteRunFinder scalar() {
+    return new ScalarByteRunFinder();
+  }
+
+  /**
+   * @return the implementation using the Vector API
+   * @throws UnsupportedOperationException if the module jdk.incubator.vector is not available
+   */
+  static ByteRunFinder vector() {
+    try {
+      return (ByteRunFinder) Class.forName("VectorByteRunFinder").getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      throw new UnsupportedOperationException("The Vector API is not available.", e);
+    }
+  }
+
+  static boolean isVectorAvailable() {
+    try {
+      vector();
+      return true;
+    } catch (UnsupportedOperationException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return the implementation chosen by the system property {@link #PROPERTY}
+   * @throws IllegalArgumentException if the property has an unknown value
+   */
+  static ByteRunFinder select() {
+    String choice = System.getProperty(PROPERTY, "auto");
+    switch (choice) {
+      case "scalar":
+        return scalar();
+      case "vector":
+        return vector();
+      case "auto":
+        return isVectorAvailable() ? vector() : scalar();
+      default:
+        throw new IllegalArgumentException("Unknown run finder " + choice + ".");
+    }
+  }
+}
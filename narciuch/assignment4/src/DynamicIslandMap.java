@@ -0,0 +1,113 @@
+/**
+ * This class keeps the number of islands of a map up to date while water
+ * tiles become land, one at a time.
+ *
+ * <p>Every tile is an element of a union-find. A new land tile is a new island,
+ * which is then merged with the islands of its land neighbours; each successful
+ * merge removes one island. Adding a tile therefore costs a few near-constant
+ * union-find operations instead of a recount of the whole map.
+ */
+public class DynamicIslandMap {
+  private final int nrRows;
+  private final int nrColumns;
+  private final PackedLandMap lands;
+  private final UnionFind tiles;
+  private int nrIslands;
+
+  /**
+   * Creates a map of the given dimensions with only water tiles.
+   *
+   * @param nrRows    number of rows of the map
+   * @param nrColumns number of columns of the map
+   */
+  public DynamicIslandMap(int nrRows, int nrColumns) {
+    this.nrRows = nrRows;
+    this.nrColumns = nrColumns;
+    this.lands = new PackedLandMap(nrRows, nrColumns);
+    int nrTiles = Math.multiplyExact(nrRows, nrColumns);
+    this.tiles = new UnionFind(nrTiles);
+    tiles.makeSets(nrTiles);
+  }
+
+  public int getNrRows() {
+    return nrRows;
+  }
+
+  public int getNrColumns() {
+    return nrColumns;
+  }
+
+  public boolean isLand(int row, int column) {
+    return lands.isLand(row, column);
+  }
+
+  /**
+   * Turns a water tile into land. Adding a tile that is already land changes nothing.
+   *
+   * @param row    the row of the tile
+   * @param column the column of the tile
+   * @return the number of islands after the change
+   */
+  public int addLand(int row, int column) {
+    if (lands.isLand(row, column)) {
+      return nrIslands;
+    }
+    lands.setLand(row, column, true);
+    nrIslands++;
+    int tile = row * nrColumns + column;
+    if (row > 0 && lands.isLand(row - 1, column)) {
+      joinIslands(tile, tile - nrColumns);
+    }
+    if (row + 1 < nrRows && lands.isLand(row + 1, column)) {
+      joinIslands(tile, tile + nrColumns);
+    }
+    if (column > 0 && lands.isLand(row, column - 1)) {
+      joinIslands(tile, tile - 1);
+    }
+    if (column + 1 < nrColumns && lands.isLand(row, column + 1)) {
+      joinIslands(tile, tile + 1);
+    }
+    return nrIslands;
+  }
+
+  /**
+   * Turns a batch of water tiles into land, in order.
+   *
+   * @param rows    the rows of the tiles
+   * @param columns the columns of the tiles, columns[i] being the column of the tile in row rows[i]
+   * @return the number of islands after each change
+   */
+  public int[] addLands(int[] rows, int[] columns) {
+    if (rows.length != columns.length) {
+      throw new IllegalArgumentException("There must be as many rows as columns.");
+    }
+    int[] counts = new int[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      counts[i] = addLand(rows[i], columns[i]);
+    }
+    return counts;
+  }
+
+  /**
+   * @return the number of islands of the map
+   */
+  public int islandCount() {
+    return nrIslands;
+  }
+
+  /**
+   * Determines whether two land tiles are part of the same island.
+   *
+   * @return true if both tiles are land and on the same island
+   */
+  public boolean isSameIsland(int row, int column, int otherRow, int otherColumn) {
+    return lands.isLand(row, column) && lands.isLand(otherRow, otherColumn)
+      && tiles.find(row * nrColumns + column) == tiles.find(otherRow * nrColumns + otherColumn);
+  }
+
+  private void joinIslands(int tile, int neighbour) {
+    if (tiles.union(tile, neighbour)) {
+      nrIslands--;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+import java.util.Arrays;
+
+/**
+ * This class computes the Euler number of a map, the number of islands minus
+ * the number of lakes, in a single pass over the rows and without labelling.
+ *
+ * <p>A lake is a region of water that does not reach the border of the map.
+ * Islands join tiles adjacent horizontally or vertically, so a lake joins
+ * water tiles adjacent diagonally too: two lakes touching only at a corner
+ * would be cut apart by the island around them, which is a single lake.
+ *
+ * <p>The map, surrounded by water, is covered by all its 2x2 quads of tiles.
+ * With Q1 quads holding one land tile, Q3 holding three and QD holding two
+ * diagonal land tiles, the Euler number is (Q1 - Q3 + 2 QD) / 4. The quads of
+ * two rows are classified 64 at a time with bitwise operations on the rows
+ * packed into longs, as in {@link PackedLandMap}.
+ */
+public class EulerNumberCounter {
+
+  /**
+   * Returns the number of islands minus the number of lakes of the map.
+   *
+   * @param lands the map of land and water tiles
+   * @return the Euler number of the map
+   */
+  public long eulerNumber(LandMap lands) {
+    return scan(lands, null);
+  }
+
+  /**
+   * Returns the number of lakes of the map, the regions of water that do not
+   * reach its border. The islands are counted from the same runs in the same
+   * pass as the Euler number, so the map is read once.
+   *
+   * @param lands the map of land and water tiles
+   * @return the number of lakes of the map
+   */
+  public long countLakes(LandMap lands) {
+    RunLabeller labeller = new RunLabeller(lands.getNrColumns(), new UnionFind(lands.getNrColumns()));
+    long eulerNumber = scan(lands, labeller);
+    return labeller.getIslands().getSetCount() - eulerNumber;
+  }
+
+  /**
+   * @param labeller if not null, receives the runs of every row
+   * @return the Euler number of the map
+   */
+  private long scan(LandMap lands, RunLabeller labeller) {
+    int nrColumns = lands.getNrColumns();
+    //One more bit than columns for the quads overlapping the right border
+    int nrWords = (nrColumns + 64) >>> 6;
+    long[] above = new long[nrWords];
+    long[] row = new long[nrWords];
+    int maxRuns = (nrColumns + 1) / 2 + 1;
+    int[] starts = labeller != null ? labeller.getRunStarts() : new int[maxRuns];
+    int[] ends = labeller != null ? labeller.getRunEnds() : new int[maxRuns];
+    long quadSum = 0;
+    for (int r = 0; r < lands.getNrRows(); r++) {
+      if (labeller != null) {
+        //The labeller swaps its arrays after each row
+        starts = labeller.getRunStarts();
+        ends = labeller.getRunEnds();
+      }
+      int nrRuns = lands.findRuns(r, starts, ends);
+      Arrays.fill(row, 0);
+      for (int run = 0; run < nrRuns; run++) {
+        setBits(row, starts[run], ends[run]);
+      }
+      if (labeller != null) {
+        labeller.labelRow(nrRuns);
+      }
+      quadSum += sumQuads(above, row);
+      long[] swap = above;
+      above = row;
+      row = swap;
+    }
+    //The quads overlapping the bottom border
+    Arrays.fill(row, 0);
+    quadSum += sumQuads(above, row);
+    return quadSum / 4;
+  }
+
+  /**
+   * Returns Q1 - Q3 + 2 QD for the quads of two rows, including the quads
+   * overlapping the left and right borders.
+   */
+  static long sumQuads(long[] above, long[] below) {
+    long sum = 0;
+    long aboveCarry = 0;
+    long belowCarry = 0;
+    for (int word = 0; word < above.length; word++) {
+      //Bit x of each value is a tile of the quad made of columns x - 1 and x
+      long topLeft = (above[word] << 1) | aboveCarry;
+      long topRight = above[word];
+      long bottomLeft = (below[word] << 1) | belowCarry;
+      long bottomRight = below[word];
+      aboveCarry = above[word] >>> 63;
+      belowCarry = below[word] >>> 63;
+
+      long odd = topLeft ^ topRight ^ bottomLeft ^ bottomRight;
+      long atLeastTwo = (topLeft & topRight) | (bottomLeft & bottomRight)
+        | ((topLeft | topRight) & (bottomLeft | bottomRight));
+      long diagonal = (topLeft & bottomRight & ~topRight & ~bottomLeft)
+        | (topRight & bottomLeft & ~topLeft & ~bottomRight);
+      sum += Long.bitCount(odd & ~atLeastTwo) - Long.bitCount(odd & atLeastTwo) + 2L * Long.bitCount(diagonal);
+    }
+    return sum;
+  }
+
+  private static void setBits(long[] words, int start, int end) {
+    int startWord = start >>> 6;
+    int endWord = (end - 1) >>> 6;
+    long startMask = -1L << start;
+    long endMask = -1L >>> -end;
+    if (startWord == endWord) {
+      words[startWord] |= startMask & endMask;
+      return;
+    }
+    words[startWord] |= startMask;
+    for (int word = startWord + 1; word < endWord; word++) {
+      words[word] = -1L;
+    }
+    words[endWord] |= endMask;
+  }
+}
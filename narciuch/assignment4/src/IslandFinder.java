@@ -1,12 +1,21 @@
-import java.util.*;
-
 public class IslandFinder {
 
+  /**
+   * Label of a water tile in the result of {@link #labelIslands(boolean[][])}.
+   */
+  public static final int WATER = 0;
+
   /**
    * Returns the number of islands in the lands matrix.
    * <p>
    * <p>Two tiles in the matrix are part of the same island if
    * they are both land and are adjacent horizontally or vertically.
+   * <p>
+   * <p>The matrix is scanned once, row by row. Each land tile joins the island
+   * of its above or left neighbour, or starts a new one; when it touches two
+   * different islands, they are merged in a union-find. Only the labels of the
+   * previous row are kept, so apart from the union-find the memory used is
+   * proportional to the number of columns.
    *
    * @param lands nested boolean array, with true representing land,
    *              false representing water
@@ -16,112 +25,132 @@ public class IslandFinder {
     if (lands.length == 0 || lands[0].length == 0) {
       return 0;
     }
-    int nrRows = lands.length;
     int nrColumns = lands[0].length;
-    Map<Integer, Set<Integer>> islands = new HashMap<>();
-    for (int row = 0; row < nrRows; row++) {
+    return getIslands(lands, new UnionFind(nrColumns), new int[nrColumns], new int[nrColumns]);
+  }
+
+  /**
+   * Same as {@link #getIslands(boolean[][])}, with the union-find and the arrays
+   * of labels given so that they can be reused from one map to the next.
+   *
+   * @param lands       nested boolean array with at least one row
+   * @param islands     an empty union-find
+   * @param aboveLabels an array with room for the labels of a row
+   * @param rowLabels   another array with room for the labels of a row
+   * @return the number of islands in the lands matrix
+   */
+  int getIslands(boolean[][] lands, UnionFind islands, int[] aboveLabels, int[] rowLabels) {
+    int nrColumns = lands[0].length;
+    for (int row = 0; row < lands.length; row++) {
       for (int column = 0; column < nrColumns; column++) {
         if (!lands[row][column]) {
           //Water tile, so we move to the next tile
+          rowLabels[column] = -1;
           continue;
         }
-        List<Integer> currentTileIslandNrs = new ArrayList<>();
-        //Check above tile
-        if (row != 0) {
-          if (lands[row - 1][column]) {
-            int islandIndex = getIslandKey(islands, getUniquePos(row - 1, column, nrColumns));
-            //Add above tile island nr to the list of islands the current tile is a part of
-            currentTileIslandNrs.add(islandIndex);
-          }
-        }
-        //Check in left tile
-        if (column != 0) {
-          if (lands[row][column - 1]) {
-            int islandIndex = getIslandKey(islands, getUniquePos(row, column - 1, nrColumns));
-            //Add left tile island nr to the list of islands the current tile is a part of
-            currentTileIslandNrs.add(islandIndex);
-          }
-        }
-
-        //We have the list of islands the tile currently belongs to
-        //Now we update the list of islands to include this tile
-        int currentTile = getUniquePos(row, column, nrColumns);
-        if (currentTileIslandNrs.size() == 0) {
-          Set<Integer> newIsland = new HashSet<>();
-          newIsland.add(currentTile);
-          islands.put(islands.size(), newIsland);
-        } else if (currentTileIslandNrs.size() == 1) {
-          islands.get(currentTileIslandNrs.get(0)).add(currentTile);
-        } else {//Tile is a member of 2 islands
-          //Add tile arbitrarily to 1st island
-          islands.get(currentTileIslandNrs.get(0)).add(currentTile);
-          if (currentTileIslandNrs.get(0) != currentTileIslandNrs.get(1)) {
-            //Merge the 2 different islands into 1
-            islands = mergeIslands(islands, currentTileIslandNrs);
-          }
-        }
+        int above = row != 0 ? aboveLabels[column] : -1;
+        int left = column != 0 ? rowLabels[column - 1] : -1;
+        rowLabels[column] = joinIslands(islands, above, left);
       }
+      int[] swap = aboveLabels;
+      aboveLabels = rowLabels;
+      rowLabels = swap;
     }
 
-    return islands.size();
+    return islands.getSetCount();
   }
 
   /**
-   * Merges the values of islands, i.e the integer sets, that have keys specified by the islandKeys,
-   * into one set that it keeps in islands, i.e. merges multiple islands into one.
+   * Returns the number of islands in a map read as runs of land.
    * <p>
-   * <p>Returns a new copy of islands after this merge.
+   * <p>Instead of visiting tiles, each row is split into runs of land, 64 tiles
+   * at a time for a bit-packed map, and runs of adjacent rows that overlap are merged.
    *
-   * @param islands    a mapping from a unique integer key to a set of integers,
-   *                   where each integer set represents an island
-   * @param islandKeys the keys of those sets in 'islands' that are to be merged
-   * @return a new copy of islands which has merged the islands as specified and not changed the
-   * other islands within 'islands'
+   * @param lands the map of land and water tiles
+   * @return the number of islands in the map
    */
-  private Map<Integer, Set<Integer>> mergeIslands(Map<Integer, Set<Integer>> islands, List<Integer> islandKeys) {
-    Set<Integer> mergeInto = islands.get(islandKeys.get(0));
-    for (int mergeIslandIndex = 1; mergeIslandIndex < islandKeys.size(); mergeIslandIndex++) {
-      int islandKey = islandKeys.get(mergeIslandIndex);
-      mergeInto.addAll(islands.get(islandKey));
-      islands.remove(islandKey);
+  public int getIslands(LandMap lands) {
+    RunLabeller labeller = new RunLabeller(lands.getNrColumns(), new UnionFind(lands.getNrColumns()));
+    for (int row = 0; row < lands.getNrRows(); row++) {
+      int nrRuns = lands.findRuns(row, labeller.getRunStarts(), labeller.getRunEnds());
+      labeller.labelRow(nrRuns);
     }
-    return islands;
+    return labeller.getIslands().getSetCount();
   }
 
-
   /**
-   * We assume each tilePosition is in islands at most once.
+   * Labels every tile of the lands matrix with the island it belongs to.
+   * <p>
+   * <p>This is a two-pass labelling: the first pass gives each tile a
+   * provisional label and records in a union-find which labels belong to the
+   * same island, the second pass replaces each provisional label with the
+   * final label of its island.
    *
-   * @param islands
-   * @param tilePosition
-   * @return key of the island containing the tilePosition value if it exists in 'islands'.
-   * If the tilePosition is not in 'islands' then -1 is returned.
+   * @param lands nested boolean array, with true representing land,
+   *              false representing water
+   * @return a matrix of the same dimensions as lands, where water tiles are
+   * {@link #WATER} and the tiles of each island have the same label between
+   * 1 and the number of islands
    */
-  private int getIslandKey(Map<Integer, Set<Integer>> islands, int tilePosition) {
-    for (int key : islands.keySet()) {
-      if (islands.get(key).contains(tilePosition)) {
-        return key;
+  public int[][] labelIslands(boolean[][] lands) {
+    if (lands.length == 0 || lands[0].length == 0) {
+      return new int[lands.length][0];
+    }
+    int nrRows = lands.length;
+    int nrColumns = lands[0].length;
+    int[][] labels = new int[nrRows][nrColumns];
+    UnionFind islands = new UnionFind(nrColumns);
+    for (int row = 0; row < nrRows; row++) {
+      for (int column = 0; column < nrColumns; column++) {
+        if (!lands[row][column]) {
+          labels[row][column] = -1;
+          continue;
+        }
+        int above = row != 0 ? labels[row - 1][column] : -1;
+        int left = column != 0 ? labels[row][column - 1] : -1;
+        labels[row][column] = joinIslands(islands, above, left);
       }
     }
-    return -1;
+
+    //Number the islands in the order their first tile appears
+    int[] finalLabels = new int[islands.size()];
+    int nrIslands = 0;
+    for (int row = 0; row < nrRows; row++) {
+      for (int column = 0; column < nrColumns; column++) {
+        int label = labels[row][column];
+        if (label < 0) {
+          labels[row][column] = WATER;
+          continue;
+        }
+        int root = islands.find(label);
+        if (finalLabels[root] == 0) {
+          finalLabels[root] = ++nrIslands;
+        }
+        labels[row][column] = finalLabels[root];
+      }
+    }
+    return labels;
   }
 
   /**
-   * Returns a unique integer identifier for each cell in a matrix,
-   * which in this case is it's position as a function of its row
-   * and column.
-   * <p>
-   * <p>Starting from 0 for the top left cell and moving across the rows
-   * then down the columns with each subsequent cell being the successor
-   * integer of the previous one.
+   * Returns the provisional label of a land tile given the labels of its above
+   * and left neighbours, merging their islands if both are land.
    *
-   * @param row       the row of the cell you want to get the unique identifier of
-   * @param column    the column of the cell to get the unique identifier of
-   * @param nrColumns total number of columns within the matrix
-   * @return an integer being a unique identifier of the cell at the specified
-   * row and column
+   * @param islands union-find of the provisional labels
+   * @param above   label of the above tile, or -1 if it is water or outside the matrix
+   * @param left    label of the left tile, or -1 if it is water or outside the matrix
+   * @return the label of the tile
    */
-  private int getUniquePos(int row, int column, int nrColumns) {
-    return nrColumns * row + column;
+  private int joinIslands(UnionFind islands, int above, int left) {
+    if (above < 0 && left < 0) {
+      return islands.makeSet();
+    }
+    if (above < 0) {
+      return left;
+    }
+    if (left >= 0 && left != above) {
+      islands.union(above, left);
+    }
+    return above;
   }
 }
@@ -0,0 +1,200 @@
+/**
+ * This class counts and labels the islands of a map for any {@link Neighbourhood}.
+ *
+ * <p>The map is scanned once in row-major order. Each land tile joins the
+ * island of its first land neighbour before it, or starts a new one, and the
+ * islands of its other land neighbours before it are merged in a union-find.
+ * Only the labels of the last {@link Neighbourhood#getReach()} rows are kept
+ * while counting.
+ *
+ * <p>The scan of a row is chosen when the labeller is created: the four and
+ * eight neighbourhoods have their own scans reading the neighbours directly,
+ * and any other neighbourhood loops over its offsets.
+ */
+public class IslandLabeller {
+
+  /**
+   * Label of a water tile in the result of {@link #labelIslands(boolean[][])}.
+   */
+  public static final int WATER = 0;
+
+  private static final int FOUR = 0;
+  private static final int EIGHT = 1;
+  private static final int CUSTOM = 2;
+
+  private final Neighbourhood neighbourhood;
+  private final int scan;
+  private final int[] rowOffsets;
+  private final int[] columnOffsets;
+
+  public IslandLabeller(Neighbourhood neighbourhood) {
+    this.neighbourhood = neighbourhood;
+    if (neighbourhood == Neighbourhood.FOUR) {
+      scan = FOUR;
+    } else if (neighbourhood == Neighbourhood.EIGHT) {
+      scan = EIGHT;
+    } else {
+      scan = CUSTOM;
+    }
+    this.rowOffsets = neighbourhood.getRowOffsets();
+    this.columnOffsets = neighbourhood.getColumnOffsets();
+  }
+
+  public Neighbourhood getNeighbourhood() {
+    return neighbourhood;
+  }
+
+  /**
+   * Returns the number of islands in the lands matrix.
+   *
+   * @param lands nested boolean array, with true representing land,
+   *              false representing water
+   * @return the number of islands in the lands matrix
+   */
+  public int countIslands(boolean[][] lands) {
+    if (lands.length == 0 || lands[0].length == 0) {
+      return 0;
+    }
+    UnionFind islands = new UnionFind(lands[0].length);
+    scanRows(lands, new int[neighbourhood.getReach() + 1][lands[0].length], islands);
+    return islands.getSetCount();
+  }
+
+  /**
+   * Labels every tile of the lands matrix with the island it belongs to.
+   *
+   * @param lands nested boolean array, with true representing land,
+   *              false representing water
+   * @return a matrix of the same dimensions as lands, where water tiles are
+   * {@link #WATER} and the tiles of each island have the same label between
+   * 1 and the number of islands, numbered in the order their first tile appears
+   */
+  public int[][] labelIslands(boolean[][] lands) {
+    if (lands.length == 0 || lands[0].length == 0) {
+      return new int[lands.length][0];
+    }
+    int[][] labels = new int[lands.length][lands[0].length];
+    UnionFind islands = new UnionFind(lands[0].length);
+    scanRows(lands, labels, islands);
+
+    int[] finalLabels = new int[islands.size()];
+    int nrIslands = 0;
+    for (int[] rowLabels : labels) {
+      for (int column = 0; column < rowLabels.length; column++) {
+        int label = rowLabels[column];
+        if (label < 0) {
+          rowLabels[column] = WATER;
+          continue;
+        }
+        int root = islands.find(label);
+        if (finalLabels[root] == 0) {
+          finalLabels[root] = ++nrIslands;
+        }
+        rowLabels[column] = finalLabels[root];
+      }
+    }
+    return labels;
+  }
+
+  /**
+   * Gives every tile a provisional label, or -1 for water.
+   *
+   * @param lands   the map
+   * @param labels  receives the labels, row i being stored in labels[i % labels.length],
+   *                so it must hold at least {@link Neighbourhood#getReach()} + 1 rows
+   * @param islands union-find in which a set is created for each new label
+   */
+  private void scanRows(boolean[][] lands, int[][] labels, UnionFind islands) {
+    for (int row = 0; row < lands.length; row++) {
+      int[] rowLabels = labels[row % labels.length];
+      int[] aboveLabels = row != 0 ? labels[(row - 1) % labels.length] : null;
+      switch (scan) {
+        case FOUR:
+          scanRowFour(lands[row], rowLabels, aboveLabels, islands);
+          break;
+        case EIGHT:
+          scanRowEight(lands[row], rowLabels, aboveLabels, islands);
+          break;
+        default:
+          scanRowCustom(lands[row], row, labels, islands);
+      }
+    }
+  }
+
+  private void scanRowFour(boolean[] tiles, int[] rowLabels, int[] aboveLabels, UnionFind islands) {
+    for (int column = 0; column < tiles.length; column++) {
+      if (!tiles[column]) {
+        rowLabels[column] = -1;
+        continue;
+      }
+      int above = aboveLabels != null ? aboveLabels[column] : -1;
+      int left = column != 0 ? rowLabels[column - 1] : -1;
+      if (above < 0) {
+        rowLabels[column] = left < 0 ? islands.makeSet() : left;
+        continue;
+      }
+      if (left >= 0 && left != above) {
+        islands.union(above, left);
+      }
+      rowLabels[column] = above;
+    }
+  }
+
+  private void scanRowEight(boolean[] tiles, int[] rowLabels, int[] aboveLabels, UnionFind islands) {
+    int lastColumn = tiles.length - 1;
+    for (int column = 0; column < tiles.length; column++) {
+      if (!tiles[column]) {
+        rowLabels[column] = -1;
+        continue;
+      }
+      int above = aboveLabels != null ? aboveLabels[column] : -1;
+      if (above >= 0) {
+        //The left, above left and above right tiles are all adjacent to the above tile
+        rowLabels[column] = above;
+        continue;
+      }
+      int left = column != 0 ? rowLabels[column - 1] : -1;
+      if (left < 0 && aboveLabels != null && column != 0) {
+        //The left and above left tiles are adjacent, so only one of them is needed
+        left = aboveLabels[column - 1];
+      }
+      int aboveRight = aboveLabels != null && column != lastColumn ? aboveLabels[column + 1] : -1;
+      if (left < 0) {
+        rowLabels[column] = aboveRight < 0 ? islands.makeSet() : aboveRight;
+        continue;
+      }
+      if (aboveRight >= 0 && aboveRight != left) {
+        islands.union(left, aboveRight);
+      }
+      rowLabels[column] = left;
+    }
+  }
+
+  private void scanRowCustom(boolean[] tiles, int row, int[][] labels, UnionFind islands) {
+    int[] rowLabels = labels[row % labels.length];
+    for (int column = 0; column < tiles.length; column++) {
+      if (!tiles[column]) {
+        rowLabels[column] = -1;
+        continue;
+      }
+      int label = -1;
+      for (int offset = 0; offset < rowOffsets.length; offset++) {
+        int neighbourRow = row + rowOffsets[offset];
+        int neighbourColumn = column + columnOffsets[offset];
+        if (neighbourRow < 0 || neighbourColumn < 0 || neighbourColumn >= tiles.length) {
+          continue;
+        }
+        int neighbour = labels[neighbourRow % labels.length][neighbourColumn];
+        if (neighbour < 0) {
+          continue;
+        }
+        if (label < 0) {
+          label = neighbour;
+        } else if (neighbour != label) {
+          islands.union(label, neighbour);
+        }
+      }
+      rowLabels[column] = label < 0 ? islands.makeSet() : label;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+import java.util.Arrays;
+
+/**
+ * This class is a set of land cells of a map too large to store as a matrix,
+ * each cell being any pair of int coordinates.
+ *
+ * <p>A cell is packed into a long key, the row in the high half and the column
+ * in the low half, and the keys are kept in an open-addressing hash table with
+ * linear probing. Cells are numbered in the order they are added, so the set
+ * also maps each of its cells to a dense index.
+ */
+public class LandCellSet {
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private long[] keys;
+  //Index of the cell of each slot in the order of addition, meaningful only where keys is not EMPTY
+  private int[] indices;
+  private int mask;
+  private int size;
+  //The key EMPTY is a valid cell, so it is stored apart from the table
+  private int emptyKeyIndex = -1;
+
+  /**
+   * @param expectedSize number of cells expected, so that the table does not have to grow
+   */
+  public LandCellSet(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+    this.keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    this.indices = new int[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * @return the key of the cell at the row and column, increasing with the row
+   * and then with the column
+   */
+  public static long key(int row, int column) {
+    //Flipping the sign bit of the column makes the low half compare as a signed int
+    return ((long) row << 32) | ((column ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+  }
+
+  public static int rowOf(long key) {
+    return (int) (key >> 32);
+  }
+
+  public static int columnOf(long key) {
+    return (int) key ^ Integer.MIN_VALUE;
+  }
+
+  /**
+   * Adds a land cell.
+   *
+   * @return true if the cell was not in the set yet
+   */
+  public boolean add(int row, int column) {
+    return add(key(row, column));
+  }
+
+  boolean add(long key) {
+    if (key == EMPTY) {
+      if (emptyKeyIndex >= 0) {
+        return false;
+      }
+      emptyKeyIndex = size++;
+      return true;
+    }
+    int slot = slotOf(key);
+    if (keys[slot] == key) {
+      return false;
+    }
+    keys[slot] = key;
+    indices[slot] = size++;
+    if (size * 2 > keys.length) {
+      grow();
+    }
+    return true;
+  }
+
+  public boolean contains(int row, int column) {
+    return indexOf(key(row, column)) >= 0;
+  }
+
+  /**
+   * @return the number of cells added before the cell with the key, or -1 if
+   * it is not in the set
+   */
+  int indexOf(long key) {
+    if (key == EMPTY) {
+      return emptyKeyIndex;
+    }
+    int slot = slotOf(key);
+    return keys[slot] == key ? indices[slot] : -1;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the keys of the cells in increasing order, so row after row
+   */
+  long[] toSortedKeys() {
+    long[] sorted = new long[size];
+    int nrKeys = 0;
+    if (emptyKeyIndex >= 0) {
+      sorted[nrKeys++] = EMPTY;
+    }
+    for (long key : keys) {
+      if (key != EMPTY) {
+        sorted[nrKeys++] = key;
+      }
+    }
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  /**
+   * @return the slot holding the key, or the empty slot where it would be added
+   */
+  private int slotOf(long key) {
+    int slot = hash(key) & mask;
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int hash(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    int[] oldIndices = indices;
+    keys = new long[oldKeys.length * 2];
+    Arrays.fill(keys, EMPTY);
+    indices = new int[keys.length];
+    mask = keys.length - 1;
+    for (int slot = 0; slot < oldKeys.length; slot++) {
+      if (oldKeys[slot] != EMPTY) {
+        int newSlot = slotOf(oldKeys[slot]);
+        keys[newSlot] = oldKeys[slot];
+        indices[newSlot] = oldIndices[slot];
+      }
+    }
+  }
+}
@@ -0,0 +1,24 @@
+/**
+ * A map of land and water tiles that can be read one row at a time as
+ * horizontal runs of land, which is all the island labelling needs.
+ *
+ * <p>A run is a maximal sequence of adjacent land tiles within a row.
+ * Implementations must allow rows to be read from several threads at once.
+ */
+public interface LandMap {
+
+  int getNrRows();
+
+  int getNrColumns();
+
+  /**
+   * Finds the runs of land of a row.
+   *
+   * @param row    the row to search
+   * @param starts receives the first column of each run, in increasing order.
+   *               Must have room for (nrColumns + 1) / 2 runs, the most a row can hold.
+   * @param ends   receives the column after the last column of each run
+   * @return the number of runs found
+   */
+  int findRuns(int row, int[] starts, int[] ends);
+}
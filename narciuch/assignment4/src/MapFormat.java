@@ -0,0 +1,36 @@
+/**
+ * The layouts of a map of land and water tiles stored in a file or a stream.
+ *
+ * <p>A map is stored row after row with no header, each row taking
+ * {@link #getBytesPerRow(int)} bytes. The number of columns must be known to
+ * read the map, the number of rows follows from the length of the data.
+ */
+public enum MapFormat {
+  /**
+   * One byte per tile, 0 for water and any other value for land.
+   */
+  BYTES {
+    @Override
+    public int getBytesPerRow(int nrColumns) {
+      return nrColumns;
+    }
+  },
+
+  /**
+   * One bit per tile, 1 for land and 0 for water. The tile at column c is bit
+   * (c % 8) of byte (c / 8) of the row, with bit 0 the least significant one.
+   * Each row starts at a new byte and the bits past the last column are ignored.
+   */
+  BITS {
+    @Override
+    public int getBytesPerRow(int nrColumns) {
+      return (nrColumns + 7) >>> 3;
+    }
+  };
+
+  /**
+   * @param nrColumns number of columns of the map
+   * @return the number of bytes of a row of the map
+   */
+  public abstract int getBytesPerRow(int nrColumns);
+}
@@ -0,0 +1,100 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This class finds the horizontal runs of land of rows of a map stored in a
+ * {@link MapFormat}, reading the rows directly from a byte buffer.
+ */
+public class MapRowDecoder {
+  private final MapFormat format;
+  private final int nrColumns;
+  private final int bytesPerRow;
+  private final long[] words;
+
+  /**
+   * @param format    the layout of the rows
+   * @param nrColumns number of columns of the map
+   */
+  public MapRowDecoder(MapFormat format, int nrColumns) {
+    if (nrColumns <= 0) {
+      throw new IllegalArgumentException("Map must have at least one column.");
+    }
+    this.format = format;
+    this.nrColumns = nrColumns;
+    this.bytesPerRow = format.getBytesPerRow(nrColumns);
+    this.words = format == MapFormat.BITS ? new long[(nrColumns + 63) >>> 6] : null;
+  }
+
+  public MapFormat getFormat() {
+    return format;
+  }
+
+  public int getNrColumns() {
+    return nrColumns;
+  }
+
+  public int getBytesPerRow() {
+    return bytesPerRow;
+  }
+
+  /**
+   * Finds the runs of land of the row stored at the given position of the buffer.
+   * The position and limit of the buffer are not changed.
+   *
+   * @param buffer   the buffer holding the row
+   * @param position the index of the first byte of the row in the buffer
+   * @param starts   receives the first column of each run, in increasing order.
+   *                 Must have room for (nrColumns + 1) / 2 runs.
+   * @param ends     receives the column after the last column of each run
+   * @return the number of runs found
+   */
+  public int findRuns(ByteBuffer buffer, int position, int[] starts, int[] ends) {
+    if (format == MapFormat.BYTES) {
+      return findByteRuns(buffer, position, starts, ends);
+    }
+    readWords(buffer, position);
+    return PackedLandMap.findRuns(words, 0, words.length, nrColumns, starts, ends);
+  }
+
+  private int findByteRuns(ByteBuffer buffer, int position, int[] starts, int[] ends) {
+    int nrRuns = 0;
+    int column = 0;
+    while (column < nrColumns) {
+      while (column < nrColumns && buffer.get(position + column) == 0) {
+        column++;
+      }
+      if (column == nrColumns) {
+        break;
+      }
+      starts[nrRuns] = column;
+      while (column < nrColumns && buffer.get(position + column) != 0) {
+        column++;
+      }
+      ends[nrRuns++] = column;
+    }
+    return nrRuns;
+  }
+
+  /**
+   * Copies a bit-packed row into longs, 8 bytes at a time where possible,
+   * and clears the bits past the last column.
+   */
+  private void readWords(ByteBuffer buffer, int position) {
+    ByteOrder order = buffer.order();
+    int fullWords = bytesPerRow >>> 3;
+    for (int word = 0; word < fullWords; word++) {
+      long value = buffer.getLong(position + (word << 3));
+      words[word] = order == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+    }
+    if (fullWords < words.length) {
+      long value = 0;
+      for (int b = fullWords << 3; b < bytesPerRow; b++) {
+        value |= (buffer.get(position + b) & 0xFFL) << ((b & 7) << 3);
+      }
+      words[fullWords] = value;
+    }
+    if ((nrColumns & 63) != 0) {
+      words[words.length - 1] &= (1L << nrColumns) - 1;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads a map stored in a file in a {@link MapFormat} through
+ * memory mapping, so the tiles are never copied to the heap and a map read
+ * again is served from the page cache of the operating system.
+ *
+ * <p>A single mapping can not exceed 2 GB, so larger files are mapped as
+ * several windows, each holding whole rows.
+ */
+public class MappedLandMap implements LandMap {
+  private static final long MAX_WINDOW_BYTES = Integer.MAX_VALUE;
+
+  private final int nrRows;
+  private final int nrColumns;
+  private final int bytesPerRow;
+  private final int rowsPerWindow;
+  private final MappedByteBuffer[] windows;
+  private final ThreadLocal<MapRowDecoder> decoders;
+
+  private MappedLandMap(FileChannel channel, MapFormat format, int nrColumns, long maxWindowBytes)
+    throws IOException {
+    MapRowDecoder decoder = new MapRowDecoder(format, nrColumns);
+    this.nrColumns = nrColumns;
+    this.bytesPerRow = decoder.getBytesPerRow();
+    long size = channel.size();
+    if (size % bytesPerRow != 0) {
+      throw new IOException("Map file does not hold a whole number of rows.");
+    }
+    if (size / bytesPerRow > Integer.MAX_VALUE) {
+      throw new IOException("Map file has too many rows.");
+    }
+    this.nrRows = (int) (size / bytesPerRow);
+    this.rowsPerWindow = (int) Math.max(1, Math.min(nrRows, maxWindowBytes / bytesPerRow));
+    int nrWindows = nrRows == 0 ? 0 : (nrRows + rowsPerWindow - 1) / rowsPerWindow;
+    this.windows = new MappedByteBuffer[nrWindows];
+    for (int window = 0; window < nrWindows; window++) {
+      long firstRow = (long) window * rowsPerWindow;
+      long windowRows = Math.min(rowsPerWindow, nrRows - firstRow);
+      windows[window] = channel.map(FileChannel.MapMode.READ_ONLY, firstRow * bytesPerRow, windowRows * bytesPerRow);
+      windows[window].order(ByteOrder.LITTLE_ENDIAN);
+    }
+    this.decoders = ThreadLocal.withInitial(() -> new MapRowDecoder(format, nrColumns));
+  }
+
+  /**
+   * Maps a map file into memory.
+   * <p>
+   * <p>The file is closed once mapped, the mapping lasts until this object is
+   * garbage collected. The file must not be changed while it is mapped.
+   *
+   * @param file      the file holding the map, row after row with no header
+   * @param format    the layout of the rows
+   * @param nrColumns number of columns of the map
+   * @return the mapped map, whose number of rows follows from the size of the file
+   * @throws IOException if the file can not be mapped or does not hold whole rows
+   */
+  public static MappedLandMap open(Path file, MapFormat format, int nrColumns) throws IOException {
+    return open(file, format, nrColumns, MAX_WINDOW_BYTES);
+  }
+
+  static MappedLandMap open(Path file, MapFormat format, int nrColumns, long maxWindowBytes) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new MappedLandMap(channel, format, nrColumns, maxWindowBytes);
+    }
+  }
+
+  @Override
+  public int getNrRows() {
+    return nrRows;
+  }
+
+  @Override
+  public int getNrColumns() {
+    return nrColumns;
+  }
+
+  /**
+   * @return the number of windows the file is mapped as
+   */
+  public int getNrWindows() {
+    return windows.length;
+  }
+
+  @Override
+  public int findRuns(int row, int[] starts, int[] ends) {
+    if (row < 0 || row >= nrRows) {
+      throw new IndexOutOfBoundsException("Row " + row + " is outside the map.");
+    }
+    MappedByteBuffer window = windows[row / rowsPerWindow];
+    int position = (row % rowsPerWindow) * bytesPerRow;
+    return decoders.get().findRuns(window, position, starts, ends);
+  }
+}
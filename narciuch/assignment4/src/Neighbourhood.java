@@ -0,0 +1,136 @@
+import java.util.Arrays;
+
+/**
+ * This class describes which tiles are adjacent, so that two adjacent land
+ * tiles are part of the same island.
+ *
+ * <p>A neighbourhood is a set of offsets {rows, columns} from a tile to its
+ * neighbours. Adjacency is symmetric, so the opposite of every offset is a
+ * neighbour too. Only the offsets pointing to tiles before the current tile in
+ * row-major order are kept, which are the ones a labelling scan looks at.
+ */
+public final class Neighbourhood {
+
+  /**
+   * Tiles adjacent horizontally or vertically.
+   */
+  public static final Neighbourhood FOUR = new Neighbourhood(new int[]{0, -1}, new int[]{-1, 0});
+
+  /**
+   * Tiles adjacent horizontally, vertically or diagonally.
+   */
+  public static final Neighbourhood EIGHT =
+    new Neighbourhood(new int[]{0, -1, -1, -1}, new int[]{-1, -1, 0, 1});
+
+  private final int[] rowOffsets;
+  private final int[] columnOffsets;
+  private final int reach;
+
+  private Neighbourhood(int[] rowOffsets, int[] columnOffsets) {
+    this.rowOffsets = rowOffsets;
+    this.columnOffsets = columnOffsets;
+    int reach = 0;
+    for (int rowOffset : rowOffsets) {
+      reach = Math.max(reach, -rowOffset);
+    }
+    this.reach = reach;
+  }
+
+  /**
+   * Creates a neighbourhood from a kernel of offsets.
+   * <p>
+   * <p>A kernel describing the same adjacency as {@link #FOUR} or {@link #EIGHT}
+   * returns that neighbourhood, so it is labelled as fast.
+   *
+   * @param offsets the offsets {rows, columns} from a tile to its neighbours, in
+   *                any order, with or without their opposites
+   * @return the neighbourhood
+   * @throws IllegalArgumentException if an offset is not a pair or is {0, 0}
+   */
+  public static Neighbourhood of(int[]... offsets) {
+    long[] keys = new long[offsets.length];
+    for (int i = 0; i < offsets.length; i++) {
+      int[] offset = offsets[i];
+      if (offset.length != 2 || (offset[0] == 0 && offset[1] == 0)) {
+        throw new IllegalArgumentException("Offset " + Arrays.toString(offset) + " is not a neighbour.");
+      }
+      int rowOffset = offset[0];
+      int columnOffset = offset[1];
+      //Keep the opposite offset pointing before the tile in row-major order
+      if (rowOffset > 0 || (rowOffset == 0 && columnOffset > 0)) {
+        rowOffset = -rowOffset;
+        columnOffset = -columnOffset;
+      }
+      keys[i] = ((long) rowOffset << 32) | (columnOffset & 0xFFFFFFFFL);
+    }
+    Arrays.sort(keys);
+    int nrOffsets = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (i == 0 || keys[i] != keys[i - 1]) {
+        keys[nrOffsets++] = keys[i];
+      }
+    }
+    //Nearest rows first, so the first neighbours looked at are the cheapest to reach
+    int[] rowOffsets = new int[nrOffsets];
+    int[] columnOffsets = new int[nrOffsets];
+    for (int i = 0; i < nrOffsets; i++) {
+      long key = keys[nrOffsets - 1 - i];
+      rowOffsets[i] = (int) (key >> 32);
+      columnOffsets[i] = (int) key;
+    }
+    Neighbourhood neighbourhood = new Neighbourhood(rowOffsets, columnOffsets);
+    if (neighbourhood.sameOffsets(FOUR)) {
+      return FOUR;
+    }
+    if (neighbourhood.sameOffsets(EIGHT)) {
+      return EIGHT;
+    }
+    return neighbourhood;
+  }
+
+  private boolean sameOffsets(Neighbourhood other) {
+    if (rowOffsets.length != other.rowOffsets.length) {
+      return false;
+    }
+    for (int i = 0; i < rowOffsets.length; i++) {
+      boolean found = false;
+      for (int j = 0; j < rowOffsets.length && !found; j++) {
+        found = rowOffsets[i] == other.rowOffsets[j] && columnOffsets[i] == other.columnOffsets[j];
+      }
+      if (!found) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the number of offsets pointing before a tile in row-major order
+   */
+  public int size() {
+    return rowOffsets.length;
+  }
+
+  /**
+   * @return the row offsets of the neighbours before a tile in row-major order,
+   * all zero or negative
+   */
+  public int[] getRowOffsets() {
+    return rowOffsets.clone();
+  }
+
+  /**
+   * @return the column offsets of the neighbours before a tile in row-major order,
+   * negative where the row offset is zero
+   */
+  public int[] getColumnOffsets() {
+    return columnOffsets.clone();
+  }
+
+  /**
+   * @return the number of previous rows a tile can be adjacent to
+   */
+  public int getReach() {
+    return reach;
+  }
+}
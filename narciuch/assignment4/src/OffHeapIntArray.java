@@ -0,0 +1,153 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * This class is an array of ints stored outside the Java heap, which can hold
+ * more than 2^31 elements and does not add to the work of the garbage collector.
+ *
+ * <p>The elements are stored in direct buffers of 2^27 ints each, allocated
+ * when an element of theirs is first set, so an array sized for the worst case
+ * only takes the memory of the elements used. The memory is released by
+ * {@link #close()}, so the array is meant to be used in a try-with-resources
+ * statement; after that, reading or writing it throws
+ * {@link IllegalStateException}. The elements start at 0.
+ *
+ * <p>Direct buffers are limited by -XX:MaxDirectMemorySize, which is the
+ * maximum heap size by default, so it must be raised for arrays larger than the heap.
+ */
+public class OffHeapIntArray implements AutoCloseable {
+  private static final int CHUNK_SHIFT = 27;
+  //Releases a direct buffer at once, or null to leave it to the garbage collector
+  private static final Method INVOKE_CLEANER;
+  private static final Object UNSAFE;
+
+  static {
+    Method invokeCleaner = null;
+    Object unsafe = null;
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafe = theUnsafe.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      invokeCleaner = null;
+    }
+    INVOKE_CLEANER = invokeCleaner;
+    UNSAFE = unsafe;
+  }
+
+  private final long length;
+  private final int chunkShift;
+  private final int chunkMask;
+  private final ByteBuffer[] buffers;
+  private final IntBuffer[] chunks;
+  private boolean closed;
+
+  /**
+   * Creates an array of zeros.
+   *
+   * @param length the number of elements
+   */
+  public OffHeapIntArray(long length) {
+    this(length, CHUNK_SHIFT);
+  }
+
+  OffHeapIntArray(long length, int chunkShift) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Length cannot be negative.");
+    }
+    this.length = length;
+    this.chunkShift = chunkShift;
+    this.chunkMask = (1 << chunkShift) - 1;
+    int nrChunks = (int) ((length + chunkMask) >>> chunkShift);
+    this.buffers = new ByteBuffer[nrChunks];
+    this.chunks = new IntBuffer[nrChunks];
+  }
+
+  public long length() {
+    return length;
+  }
+
+  public int get(long index) {
+    checkIndex(index);
+    IntBuffer chunk = chunks[(int) (index >>> chunkShift)];
+    return chunk == null ? 0 : chunk.get((int) index & chunkMask);
+  }
+
+  public void set(long index, int value) {
+    checkIndex(index);
+    chunk(index).put((int) index & chunkMask, value);
+  }
+
+  /**
+   * Sets the elements from index from, inclusive, to index to, exclusive.
+   */
+  public void fill(long from, long to, int value) {
+    if (from < 0 || to > length || from > to) {
+      throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is outside the array.");
+    }
+    checkOpen();
+    while (from < to) {
+      IntBuffer chunk = chunk(from);
+      int start = (int) from & chunkMask;
+      int end = (int) Math.min(chunkMask + 1L, start + (to - from));
+      for (int i = start; i < end; i++) {
+        chunk.put(i, value);
+      }
+      from += end - start;
+    }
+  }
+
+  /**
+   * Releases the memory of the array. Closing it again does nothing.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (int chunk = 0; chunk < buffers.length; chunk++) {
+      ByteBuffer buffer = buffers[chunk];
+      buffers[chunk] = null;
+      chunks[chunk] = null;
+      if (buffer != null && INVOKE_CLEANER != null) {
+        try {
+          INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+          //The buffer is released by the garbage collector instead
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the chunk holding the element, allocated if it was not yet
+   */
+  private IntBuffer chunk(long index) {
+    int chunk = (int) (index >>> chunkShift);
+    if (chunks[chunk] == null) {
+      long chunkLength = Math.min(1L << chunkShift, length - ((long) chunk << chunkShift));
+      buffers[chunk] = ByteBuffer.allocateDirect((int) chunkLength * Integer.BYTES).order(ByteOrder.nativeOrder());
+      chunks[chunk] = buffers[chunk].asIntBuffer();
+    }
+    return chunks[chunk];
+  }
+
+  private void checkIndex(long index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index " + index + " is outside the array.");
+    }
+    checkOpen();
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Array is closed.");
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * This class labels every tile of a map with its island, keeping the labels
+ * and the union-find outside the Java heap, so that maps of billions of tiles
+ * can be labelled with a heap proportional to the number of columns.
+ *
+ * <p>The labelling is done over runs of land in two passes. The first pass
+ * gives each run a provisional label, as {@link RunLabeller} does, and writes
+ * it to the tiles of the run. The second pass replaces each provisional label
+ * with the final number of its island. The caller owns the array of labels:
+ * <pre>
+ * try (OffHeapIntArray labels = new OffHeapIntArray((long) nrRows * nrColumns)) {
+ *   long nrIslands = new OffHeapIslandLabeller().labelIslands(lands, labels);
+ *   ...
+ * }
+ * </pre>
+ */
+public class OffHeapIslandLabeller {
+
+  /**
+   * Label of a water tile.
+   */
+  public static final int WATER = 0;
+
+  /**
+   * Labels every tile of the map.
+   *
+   * @param lands  the map of land and water tiles
+   * @param labels receives the label of the tile at (row, column) at index
+   *               row * nrColumns + column: {@link #WATER} for water tiles, and
+   *               the same label between 1 and the number of islands for the tiles
+   *               of each island, numbered in the order their first tile appears.
+   *               Must hold zeros and have room for every tile.
+   * @return the number of islands
+   */
+  public int labelIslands(LandMap lands, OffHeapIntArray labels) {
+    int nrRows = lands.getNrRows();
+    int nrColumns = lands.getNrColumns();
+    if ((long) nrRows * nrColumns > labels.length()) {
+      throw new IllegalArgumentException("Labels have no room for every tile.");
+    }
+    int maxRuns = (nrColumns + 1) / 2 + 1;
+    //Every run may start a new island, but no more than Integer.MAX_VALUE labels can be created
+    int maxLabels = (int) Math.min(Integer.MAX_VALUE - 1, (long) nrRows * maxRuns);
+    int[] starts = new int[maxRuns];
+    int[] ends = new int[maxRuns];
+    try (OffHeapUnionFind islands = new OffHeapUnionFind(maxLabels)) {
+      int[] aboveStarts = new int[maxRuns];
+      int[] aboveEnds = new int[maxRuns];
+      int[] aboveLabels = new int[maxRuns];
+      int[] runLabels = new int[maxRuns];
+      int nrAboveRuns = 0;
+      for (int row = 0; row < nrRows; row++) {
+        int nrRuns = lands.findRuns(row, starts, ends);
+        int above = 0;
+        for (int run = 0; run < nrRuns; run++) {
+          while (above < nrAboveRuns && aboveEnds[above] <= starts[run]) {
+            above++;
+          }
+          int label = -1;
+          for (int touching = above; touching < nrAboveRuns && aboveStarts[touching] < ends[run]; touching++) {
+            if (label < 0) {
+              label = aboveLabels[touching];
+            } else {
+              islands.union(label, aboveLabels[touching]);
+            }
+          }
+          runLabels[run] = label < 0 ? islands.makeSet() : label;
+          long offset = (long) row * nrColumns;
+          //Stored plus one, so that water stays 0
+          labels.fill(offset + starts[run], offset + ends[run], runLabels[run] + 1);
+        }
+        int[] swap = aboveStarts;
+        aboveStarts = starts;
+        starts = swap;
+        swap = aboveEnds;
+        aboveEnds = ends;
+        ends = swap;
+        swap = aboveLabels;
+        aboveLabels = runLabels;
+        runLabels = swap;
+        nrAboveRuns = nrRuns;
+      }
+
+      try (OffHeapIntArray finalLabels = new OffHeapIntArray(islands.size())) {
+        int nrIslands = 0;
+        for (int row = 0; row < nrRows; row++) {
+          int nrRuns = lands.findRuns(row, starts, ends);
+          long offset = (long) row * nrColumns;
+          for (int run = 0; run < nrRuns; run++) {
+            int root = islands.find(labels.get(offset + starts[run]) - 1);
+            int finalLabel = finalLabels.get(root);
+            if (finalLabel == 0) {
+              finalLabel = ++nrIslands;
+              finalLabels.set(root, finalLabel);
+            }
+            labels.fill(offset + starts[run], offset + ends[run], finalLabel);
+          }
+        }
+        return nrIslands;
+      }
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * This class implements a disjoint-set forest like {@link UnionFind}, with
+ * the parents stored in an {@link OffHeapIntArray}.
+ *
+ * <p>There is no rank, which would double the memory: the root with the
+ * larger element is attached to the other one. Finding uses path halving,
+ * which keeps the cost of each operation logarithmic on average.
+ * The memory is released by {@link #close()}.
+ */
+public class OffHeapUnionFind implements AutoCloseable {
+  private final OffHeapIntArray parent;
+  private int size;
+  private int setCount;
+
+  /**
+   * @param capacity the most elements that will be created; memory is only
+   *                 taken for the elements actually created
+   */
+  public OffHeapUnionFind(int capacity) {
+    this.parent = new OffHeapIntArray(capacity);
+  }
+
+  /**
+   * Creates a new set containing only a new element.
+   *
+   * @return the new element, which is the number of elements created before it
+   * @throws IllegalStateException if the capacity is reached
+   */
+  public int makeSet() {
+    if (size == parent.length()) {
+      throw new IllegalStateException("Union-find is full.");
+    }
+    parent.set(size, size);
+    setCount++;
+    return size++;
+  }
+
+  public int find(int element) {
+    int next = parent.get(element);
+    while (next != element) {
+      int grandparent = parent.get(next);
+      parent.set(element, grandparent);
+      element = grandparent;
+      next = parent.get(element);
+    }
+    return element;
+  }
+
+  /**
+   * Merges the sets containing the two elements.
+   *
+   * @return true if the elements were in different sets before the merge,
+   * false if they were already in the same set
+   */
+  public boolean union(int first, int second) {
+    int firstRoot = find(first);
+    int secondRoot = find(second);
+    if (firstRoot == secondRoot) {
+      return false;
+    }
+    parent.set(Math.max(firstRoot, secondRoot), Math.min(firstRoot, secondRoot));
+    setCount--;
+    return true;
+  }
+
+  public int getSetCount() {
+    return setCount;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void close() {
+    parent.close();
+  }
+}
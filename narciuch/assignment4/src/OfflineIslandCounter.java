@@ -0,0 +1,208 @@
+import java.util.Arrays;
+
+/**
+ * This class replays a whole log of tiles turning into land or back into
+ * water, and returns the number of islands after every event.
+ *
+ * <p>A union-find can merge islands but not split them, so the log is solved
+ * offline. Each land tile, and each pair of adjacent land tiles, exists during
+ * intervals of time. Every interval is stored in the O(log E) nodes of a
+ * segment tree over the E events that cover it. A depth-first walk of the tree
+ * then adds the tiles and unions the pairs of a node on the way down, answers
+ * the leaves, and rolls the unions back on the way up. The number of islands at
+ * a leaf is the number of land tiles minus the number of successful unions.
+ * The whole replay takes O(E log E log N) for a map of N tiles.
+ */
+public class OfflineIslandCounter {
+  private final int nrRows;
+  private final int nrColumns;
+
+  //Segment tree over time, each node holding a linked list of items: a tile, or a pair of tiles
+  private int treeSize;
+  private int[] head;
+  private int[] next;
+  private int[] firstTile;
+  //Second tile of a pair, or -1 for a single tile
+  private int[] secondTile;
+  private int nrItems;
+
+  private RollbackUnionFind tiles;
+  private int[] counts;
+
+  /**
+   * @param nrRows    number of rows of the map, which starts with only water tiles
+   * @param nrColumns number of columns of the map
+   */
+  public OfflineIslandCounter(int nrRows, int nrColumns) {
+    this.nrRows = nrRows;
+    this.nrColumns = nrColumns;
+  }
+
+  /**
+   * Replays a log of events on a map that starts with only water tiles.
+   * <p>
+   * <p>Event i turns the tile at row rows[i] and column columns[i] into land if
+   * isLand[i] is true, or into water otherwise. An event that does not change the
+   * tile is allowed and changes nothing.
+   *
+   * @param rows    the rows of the tiles of the events
+   * @param columns the columns of the tiles of the events
+   * @param isLand  the new state of the tiles of the events
+   * @return the number of islands after each event
+   */
+  public int[] countIslands(int[] rows, int[] columns, boolean[] isLand) {
+    if (rows.length != columns.length || rows.length != isLand.length) {
+      throw new IllegalArgumentException("Every event must have a row, a column and a state.");
+    }
+    int nrEvents = rows.length;
+    counts = new int[nrEvents];
+    if (nrEvents == 0) {
+      return counts;
+    }
+    treeSize = Integer.highestOneBit(Math.max(1, nrEvents - 1)) << 1;
+    head = new int[2 * treeSize];
+    Arrays.fill(head, -1);
+    next = new int[16];
+    firstTile = new int[16];
+    secondTile = new int[16];
+    nrItems = 0;
+
+    collectIntervals(rows, columns, isLand);
+
+    tiles = new RollbackUnionFind(Math.multiplyExact(nrRows, nrColumns));
+    visit(1, 0);
+    return counts;
+  }
+
+  /**
+   * Finds the intervals of time during which each tile is land and each pair of
+   * adjacent tiles are both land, and stores them in the segment tree.
+   */
+  private void collectIntervals(int[] rows, int[] columns, boolean[] isLand) {
+    int nrTiles = Math.multiplyExact(nrRows, nrColumns);
+    //Time since which a tile is land, or -1 if it is water
+    int[] landSince = new int[nrTiles];
+    Arrays.fill(landSince, -1);
+    //Time since which a tile and its right (even index) or below (odd index) neighbour are both land
+    int[] pairSince = new int[Math.multiplyExact(nrTiles, 2)];
+
+    int nrEvents = rows.length;
+    for (int time = 0; time < nrEvents; time++) {
+      int row = rows[time];
+      int column = columns[time];
+      if (row < 0 || row >= nrRows || column < 0 || column >= nrColumns) {
+        throw new IndexOutOfBoundsException("Tile (" + row + ", " + column + ") is outside the map.");
+      }
+      int tile = row * nrColumns + column;
+      if (isLand[time] == (landSince[tile] >= 0)) {
+        continue;
+      }
+      if (isLand[time]) {
+        landSince[tile] = time;
+        updatePairs(landSince, pairSince, row, column, time, false);
+      } else {
+        addInterval(landSince[tile], time, tile, -1);
+        updatePairs(landSince, pairSince, row, column, time, true);
+        landSince[tile] = -1;
+      }
+    }
+
+    //Close the intervals still open after the last event
+    for (int tile = 0; tile < nrTiles; tile++) {
+      if (landSince[tile] < 0) {
+        continue;
+      }
+      addInterval(landSince[tile], nrEvents, tile, -1);
+      int row = tile / nrColumns;
+      int column = tile % nrColumns;
+      if (column + 1 < nrColumns && landSince[tile + 1] >= 0) {
+        addInterval(pairSince[2 * tile], nrEvents, tile, tile + 1);
+      }
+      if (row + 1 < nrRows && landSince[tile + nrColumns] >= 0) {
+        addInterval(pairSince[2 * tile + 1], nrEvents, tile, tile + nrColumns);
+      }
+    }
+  }
+
+  /**
+   * Opens or closes the pairs of a tile with each of its land neighbours.
+   */
+  private void updatePairs(int[] landSince, int[] pairSince, int row, int column, int time, boolean close) {
+    int tile = row * nrColumns + column;
+    if (column > 0 && landSince[tile - 1] >= 0) {
+      updatePair(pairSince, 2 * (tile - 1), tile - 1, tile, time, close);
+    }
+    if (column + 1 < nrColumns && landSince[tile + 1] >= 0) {
+      updatePair(pairSince, 2 * tile, tile, tile + 1, time, close);
+    }
+    if (row > 0 && landSince[tile - nrColumns] >= 0) {
+      updatePair(pairSince, 2 * (tile - nrColumns) + 1, tile - nrColumns, tile, time, close);
+    }
+    if (row + 1 < nrRows && landSince[tile + nrColumns] >= 0) {
+      updatePair(pairSince, 2 * tile + 1, tile, tile + nrColumns, time, close);
+    }
+  }
+
+  private void updatePair(int[] pairSince, int pair, int first, int second, int time, boolean close) {
+    if (close) {
+      addInterval(pairSince[pair], time, first, second);
+    } else {
+      pairSince[pair] = time;
+    }
+  }
+
+  /**
+   * Stores a tile or a pair of tiles in the nodes of the segment tree covering
+   * the times from start, inclusive, to end, exclusive.
+   */
+  private void addInterval(int start, int end, int first, int second) {
+    for (int left = start + treeSize, right = end + treeSize; left < right; left >>= 1, right >>= 1) {
+      if ((left & 1) == 1) {
+        addItem(left++, first, second);
+      }
+      if ((right & 1) == 1) {
+        addItem(--right, first, second);
+      }
+    }
+  }
+
+  private void addItem(int node, int first, int second) {
+    if (nrItems == next.length) {
+      next = Arrays.copyOf(next, nrItems * 2);
+      firstTile = Arrays.copyOf(firstTile, nrItems * 2);
+      secondTile = Arrays.copyOf(secondTile, nrItems * 2);
+    }
+    next[nrItems] = head[node];
+    firstTile[nrItems] = first;
+    secondTile[nrItems] = second;
+    head[node] = nrItems++;
+  }
+
+  /**
+   * Applies the items of a node, answers the leaves below it and undoes the items.
+   *
+   * @param node        the node of the segment tree
+   * @param nrLandTiles number of land tiles applied by the ancestors of the node
+   */
+  private void visit(int node, int nrLandTiles) {
+    int checkpoint = tiles.checkpoint();
+    for (int item = head[node]; item >= 0; item = next[item]) {
+      if (secondTile[item] < 0) {
+        nrLandTiles++;
+      } else {
+        tiles.union(firstTile[item], secondTile[item]);
+      }
+    }
+    if (node >= treeSize) {
+      int time = node - treeSize;
+      if (time < counts.length) {
+        //Every successful union still applied merged two islands
+        counts[time] = nrLandTiles - tiles.checkpoint();
+      }
+    } else {
+      visit(2 * node, nrLandTiles);
+      visit(2 * node + 1, nrLandTiles);
+    }
+    tiles.rollback(checkpoint);
+  }
+}
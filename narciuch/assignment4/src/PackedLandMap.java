@@ -0,0 +1,177 @@
+/**
+ * This class implements a matrix of land and water tiles packed into bits,
+ * one bit per tile, with 64 tiles in each long.
+ *
+ * <p>Each row starts at a new long, and the bits past the last column of a
+ * row are always 0. The bit of the tile at column c of a row is bit (c % 64)
+ * of the (c / 64)-th long of the row.
+ */
+public class PackedLandMap implements LandMap {
+  private final int nrRows;
+  private final int nrColumns;
+  private final int wordsPerRow;
+  private final long[] words;
+
+  /**
+   * Creates a map of the given dimensions with only water tiles.
+   *
+   * @param nrRows    number of rows of the map
+   * @param nrColumns number of columns of the map
+   */
+  public PackedLandMap(int nrRows, int nrColumns) {
+    if (nrRows < 0 || nrColumns < 0) {
+      throw new IllegalArgumentException("Dimensions of the map cannot be negative.");
+    }
+    this.nrRows = nrRows;
+    this.nrColumns = nrColumns;
+    this.wordsPerRow = (nrColumns + 63) >>> 6;
+    this.words = new long[Math.multiplyExact(nrRows, wordsPerRow)];
+  }
+
+  /**
+   * Packs a nested boolean array into a new map.
+   *
+   * @param lands nested boolean array, with true representing land,
+   *              false representing water
+   * @return a map with the same tiles as lands
+   */
+  public static PackedLandMap fromBooleans(boolean[][] lands) {
+    int nrColumns = lands.length == 0 ? 0 : lands[0].length;
+    PackedLandMap map = new PackedLandMap(lands.length, nrColumns);
+    for (int row = 0; row < lands.length; row++) {
+      int offset = row * map.wordsPerRow;
+      for (int column = 0; column < nrColumns; column++) {
+        if (lands[row][column]) {
+          map.words[offset + (column >>> 6)] |= 1L << column;
+        }
+      }
+    }
+    return map;
+  }
+
+  @Override
+  public int getNrRows() {
+    return nrRows;
+  }
+
+  @Override
+  public int getNrColumns() {
+    return nrColumns;
+  }
+
+  public int getWordsPerRow() {
+    return wordsPerRow;
+  }
+
+  public boolean isLand(int row, int column) {
+    checkPosition(row, column);
+    return (words[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;
+  }
+
+  public void setLand(int row, int column, boolean land) {
+    checkPosition(row, column);
+    int index = row * wordsPerRow + (column >>> 6);
+    if (land) {
+      words[index] |= 1L << column;
+    } else {
+      words[index] &= ~(1L << column);
+    }
+  }
+
+  /**
+   * Returns 64 tiles of a row packed in a long.
+   *
+   * @param row       the row of the tiles
+   * @param wordIndex the index of the long within the row, the tiles are those
+   *                  of columns 64 * wordIndex to 64 * wordIndex + 63
+   * @return the packed tiles, bit i being the tile of column 64 * wordIndex + i
+   */
+  public long getWord(int row, int wordIndex) {
+    return words[row * wordsPerRow + wordIndex];
+  }
+
+  /**
+   * Replaces 64 tiles of a row. Bits past the last column are ignored.
+   *
+   * @param row       the row of the tiles
+   * @param wordIndex the index of the long within the row
+   * @param word      the packed tiles, bit i being the tile of column 64 * wordIndex + i
+   */
+  public void setWord(int row, int wordIndex, long word) {
+    if (wordIndex == wordsPerRow - 1 && (nrColumns & 63) != 0) {
+      word &= (1L << nrColumns) - 1;
+    }
+    words[row * wordsPerRow + wordIndex] = word;
+  }
+
+  /**
+   * Finds the horizontal runs of land of a row, 64 tiles at a time.
+   * <p>
+   * <p>A run is a maximal sequence of adjacent land tiles within the row.
+   * The arrays must have room for (nrColumns + 1) / 2 runs, the most a row can hold.
+   *
+   * @param row    the row to search
+   * @param starts receives the first column of each run, in increasing order
+   * @param ends   receives the column after the last column of each run
+   * @return the number of runs found
+   */
+  @Override
+  public int findRuns(int row, int[] starts, int[] ends) {
+    return findRuns(words, row * wordsPerRow, wordsPerRow, nrColumns, starts, ends);
+  }
+
+  /**
+   * Finds the horizontal runs of land of a row packed into longs as in this class.
+   *
+   * @param words       the array holding the row
+   * @param offset      the index of the first long of the row
+   * @param wordsPerRow the number of longs of the row
+   * @param nrColumns   the number of columns of the row, bits past it must be 0
+   * @param starts      receives the first column of each run, in increasing order
+   * @param ends        receives the column after the last column of each run
+   * @return the number of runs found
+   */
+  static int findRuns(long[] words, int offset, int wordsPerRow, int nrColumns, int[] starts, int[] ends) {
+    if (wordsPerRow == 0) {
+      return 0;
+    }
+    int nrRuns = 0;
+    int wordIndex = 0;
+    //Bits of the current word still to be searched
+    long word = words[offset];
+    while (true) {
+      //Skip to the next land tile
+      while (word == 0) {
+        if (++wordIndex == wordsPerRow) {
+          return nrRuns;
+        }
+        word = words[offset + wordIndex];
+      }
+      int start = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+
+      //Skip to the next water tile
+      long water = ~word & (-1L << (start & 63));
+      while (water == 0) {
+        if (++wordIndex == wordsPerRow) {
+          starts[nrRuns] = start;
+          ends[nrRuns] = nrColumns;
+          return nrRuns + 1;
+        }
+        water = ~words[offset + wordIndex];
+      }
+      int end = (wordIndex << 6) + Long.numberOfTrailingZeros(water);
+      starts[nrRuns] = start;
+      ends[nrRuns] = end;
+      nrRuns++;
+
+      //The tile at column 'end' is water, so it can be kept in the remaining bits
+      word = words[offset + wordIndex] & (-1L << (end & 63));
+    }
+  }
+
+  private void checkPosition(int row, int column) {
+    if (row < 0 || row >= nrRows || column < 0 || column >= nrColumns) {
+      throw new IndexOutOfBoundsException("Tile (" + row + ", " + column + ") is outside the map.");
+    }
+  }
+}
@@ -0,0 +1,188 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class counts the islands of a map on several threads.
+ *
+ * <p>The map is cut into horizontal stripes of rows that are labelled in
+ * parallel, each with its own union-find. An island crossing the border
+ * between two stripes is counted once in each of them, so the runs of land
+ * on both sides of every border are then merged in a small union-find of
+ * the islands touching a border. Each successful merge joins two islands
+ * counted separately, so the number of islands is the sum of the counts of
+ * the stripes minus the number of successful merges.
+ */
+public class ParallelIslandCounter {
+  private static final int MIN_ROWS_PER_STRIPE = 64;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a counter that runs on the common fork-join pool.
+   */
+  public ParallelIslandCounter() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param pool the pool the stripes are labelled in
+   */
+  public ParallelIslandCounter(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Returns the number of islands in the lands matrix.
+   * <p>
+   * <p>Two tiles in the matrix are part of the same island if
+   * they are both land and are adjacent horizontally or vertically.
+   *
+   * @param lands nested boolean array, with true representing land,
+   *              false representing water
+   * @return the number of islands in the lands matrix
+   */
+  public long countIslands(boolean[][] lands) {
+    return countIslands(new BooleanLandMap(lands));
+  }
+
+  /**
+   * Returns the number of islands in a map read as runs of land.
+   *
+   * @param lands the map of land and water tiles
+   * @return the number of islands in the map
+   */
+  public long countIslands(LandMap lands) {
+    int nrRows = lands.getNrRows();
+    int nrColumns = lands.getNrColumns();
+    if (nrRows == 0 || nrColumns == 0) {
+      return 0;
+    }
+    int nrStripes = Math.max(1, Math.min(pool.getParallelism() * 4, nrRows / MIN_ROWS_PER_STRIPE));
+    List<Stripe> stripes = new ArrayList<>();
+    for (int stripe = 0; stripe < nrStripes; stripe++) {
+      int firstRow = (int) ((long) nrRows * stripe / nrStripes);
+      int lastRow = (int) ((long) nrRows * (stripe + 1) / nrStripes);
+      stripes.add(new Stripe(lands, firstRow, lastRow));
+    }
+    pool.submit(() -> ForkJoinTask.invokeAll(stripes)).join();
+
+    long count = 0;
+    int nrBorderIslands = 0;
+    for (Stripe stripe : stripes) {
+      count += stripe.nrIslands;
+      nrBorderIslands += stripe.nrBorderIslands;
+    }
+    UnionFind borderIslands = new UnionFind(nrBorderIslands);
+    for (int island = 0; island < nrBorderIslands; island++) {
+      borderIslands.makeSet();
+    }
+    int offset = 0;
+    for (int stripe = 0; stripe + 1 < nrStripes; stripe++) {
+      Stripe upper = stripes.get(stripe);
+      Stripe lower = stripes.get(stripe + 1);
+      count -= mergeBorder(borderIslands, upper, offset, lower, offset + upper.nrBorderIslands);
+      offset += upper.nrBorderIslands;
+    }
+    return count;
+  }
+
+  /**
+   * Merges the islands of the last row of the upper stripe with those of the
+   * first row of the lower stripe that they touch.
+   *
+   * @return the number of merges of islands that were not merged yet
+   */
+  private int mergeBorder(UnionFind borderIslands, Stripe upper, int upperOffset, Stripe lower, int lowerOffset) {
+    int merges = 0;
+    int above = 0;
+    for (int run = 0; run < lower.nrTopRuns; run++) {
+      int start = lower.topStarts[run];
+      int end = lower.topEnds[run];
+      while (above < upper.nrBottomRuns && upper.bottomEnds[above] <= start) {
+        above++;
+      }
+      for (int touching = above; touching < upper.nrBottomRuns && upper.bottomStarts[touching] < end; touching++) {
+        if (borderIslands.union(upperOffset + upper.bottomIds[touching], lowerOffset + lower.topIds[run])) {
+          merges++;
+        }
+      }
+    }
+    return merges;
+  }
+
+  /**
+   * Labels a stripe of rows and keeps the runs of its first and last rows,
+   * labelled with compact ids of the islands touching its borders.
+   */
+  @SuppressWarnings("serial")
+  private static class Stripe extends RecursiveAction {
+    private final LandMap lands;
+    private final int firstRow;
+    private final int lastRow;
+
+    private int nrIslands;
+    private int nrBorderIslands;
+    private int nrTopRuns;
+    private int[] topStarts;
+    private int[] topEnds;
+    private int[] topIds;
+    private int nrBottomRuns;
+    private int[] bottomStarts;
+    private int[] bottomEnds;
+    private int[] bottomIds;
+
+    Stripe(LandMap lands, int firstRow, int lastRow) {
+      this.lands = lands;
+      this.firstRow = firstRow;
+      this.lastRow = lastRow;
+    }
+
+    @Override
+    protected void compute() {
+      UnionFind islands = new UnionFind(lands.getNrColumns());
+      RunLabeller labeller = new RunLabeller(lands.getNrColumns(), islands);
+      int[] bottomLabels = null;
+      for (int row = firstRow; row < lastRow; row++) {
+        int nrRuns = lands.findRuns(row, labeller.getRunStarts(), labeller.getRunEnds());
+        if (row == lastRow - 1) {
+          nrBottomRuns = nrRuns;
+          bottomStarts = Arrays.copyOf(labeller.getRunStarts(), nrRuns);
+          bottomEnds = Arrays.copyOf(labeller.getRunEnds(), nrRuns);
+        }
+        if (row == firstRow) {
+          nrTopRuns = nrRuns;
+          topStarts = Arrays.copyOf(labeller.getRunStarts(), nrRuns);
+          topEnds = Arrays.copyOf(labeller.getRunEnds(), nrRuns);
+        }
+        int[] labels = labeller.labelRow(nrRuns);
+        if (row == firstRow) {
+          topIds = Arrays.copyOf(labels, nrRuns);
+        }
+        bottomLabels = labels;
+      }
+      bottomIds = Arrays.copyOf(bottomLabels, nrBottomRuns);
+      nrIslands = islands.getSetCount();
+
+      //Give the islands touching a border ids from 0 to nrBorderIslands - 1
+      int[] ids = new int[islands.size()];
+      Arrays.fill(ids, -1);
+      nrBorderIslands = compactIds(islands, topIds, nrTopRuns, ids, 0);
+      nrBorderIslands = compactIds(islands, bottomIds, nrBottomRuns, ids, nrBorderIslands);
+    }
+
+    private static int compactIds(UnionFind islands, int[] labels, int nrRuns, int[] ids, int nextId) {
+      for (int run = 0; run < nrRuns; run++) {
+        int root = islands.find(labels[run]);
+        if (ids[root] < 0) {
+          ids[root] = nextId++;
+        }
+        labels[run] = ids[root];
+      }
+      return nextId;
+    }
+  }
+}
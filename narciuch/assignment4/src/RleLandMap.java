@@ -0,0 +1,183 @@
+import java.util.Arrays;
+
+/**
+ * This class stores a map as run-length encoded rows: for each row, the sorted
+ * first and past-the-end columns of its runs of land.
+ *
+ * <p>The memory used and the cost of counting the islands are proportional to
+ * the number of runs rather than to the number of tiles, which suits maps made
+ * of long stretches of land and water.
+ */
+public class RleLandMap implements LandMap {
+  private final int nrRows;
+  private final int nrColumns;
+  //The runs of row i are the runs rowFirstRun[i] to rowFirstRun[i + 1] - 1
+  private final int[] rowFirstRun;
+  private final int[] starts;
+  private final int[] ends;
+
+  /**
+   * Creates a map from its runs, stored row after row. The arrays are copied,
+   * so changing them afterwards does not change the map.
+   *
+   * @param nrColumns   number of columns of the map
+   * @param rowFirstRun for each row the index of its first run, followed by the
+   *                    total number of runs, so the map has rowFirstRun.length - 1 rows
+   * @param starts      the first column of each run
+   * @param ends        the column after the last column of each run
+   * @throws IllegalArgumentException if the runs of a row are empty, outside
+   *                                  the map, not sorted or touching each other
+   */
+  public RleLandMap(int nrColumns, int[] rowFirstRun, int[] starts, int[] ends) {
+    //Checks the copies that are kept, not the arrays of the caller
+    rowFirstRun = rowFirstRun.clone();
+    starts = starts.clone();
+    ends = ends.clone();
+    if (rowFirstRun.length == 0 || rowFirstRun[0] != 0 || starts.length != ends.length
+      || rowFirstRun[rowFirstRun.length - 1] != starts.length) {
+      throw new IllegalArgumentException("Rows do not match the runs.");
+    }
+    for (int row = 0; row + 1 < rowFirstRun.length; row++) {
+      int previousEnd = -1;
+      if (rowFirstRun[row + 1] < rowFirstRun[row]) {
+        throw new IllegalArgumentException("Runs of row " + row + " are not in order.");
+      }
+      for (int run = rowFirstRun[row]; run < rowFirstRun[row + 1]; run++) {
+        if (starts[run] <= previousEnd || starts[run] >= ends[run] || ends[run] > nrColumns) {
+          throw new IllegalArgumentException("Run " + run + " of row " + row + " is not valid.");
+        }
+        previousEnd = ends[run];
+      }
+    }
+    this.nrRows = rowFirstRun.length - 1;
+    this.nrColumns = nrColumns;
+    this.rowFirstRun = rowFirstRun;
+    this.starts = starts;
+    this.ends = ends;
+  }
+
+  /**
+   * Encodes a nested boolean array.
+   *
+   * @param lands nested boolean array, with true representing land,
+   *              false representing water
+   * @return the encoded map
+   */
+  public static RleLandMap fromBooleans(boolean[][] lands) {
+    return fromLandMap(new BooleanLandMap(lands));
+  }
+
+  /**
+   * Encodes any map, such as a {@link PackedLandMap} whose rows are scanned
+   * 64 tiles at a time.
+   *
+   * @param lands the map to encode
+   * @return the encoded map
+   */
+  public static RleLandMap fromLandMap(LandMap lands) {
+    int nrRows = lands.getNrRows();
+    int nrColumns = lands.getNrColumns();
+    int maxRuns = (nrColumns + 1) / 2 + 1;
+    int[] rowStarts = new int[maxRuns];
+    int[] rowEnds = new int[maxRuns];
+    int[] rowFirstRun = new int[nrRows + 1];
+    int[] starts = new int[16];
+    int[] ends = new int[16];
+    int nrRuns = 0;
+    for (int row = 0; row < nrRows; row++) {
+      int rowRuns = lands.findRuns(row, rowStarts, rowEnds);
+      if (nrRuns + rowRuns > starts.length) {
+        int capacity = Math.max(nrRuns + rowRuns, starts.length * 2);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+      }
+      System.arraycopy(rowStarts, 0, starts, nrRuns, rowRuns);
+      System.arraycopy(rowEnds, 0, ends, nrRuns, rowRuns);
+      nrRuns += rowRuns;
+      rowFirstRun[row + 1] = nrRuns;
+    }
+    return new RleLandMap(nrRows, nrColumns, rowFirstRun, Arrays.copyOf(starts, nrRuns), Arrays.copyOf(ends, nrRuns));
+  }
+
+  private RleLandMap(int nrRows, int nrColumns, int[] rowFirstRun, int[] starts, int[] ends) {
+    this.nrRows = nrRows;
+    this.nrColumns = nrColumns;
+    this.rowFirstRun = rowFirstRun;
+    this.starts = starts;
+    this.ends = ends;
+  }
+
+  @Override
+  public int getNrRows() {
+    return nrRows;
+  }
+
+  @Override
+  public int getNrColumns() {
+    return nrColumns;
+  }
+
+  /**
+   * @return the number of runs of land of the whole map
+   */
+  public int getNrRuns() {
+    return starts.length;
+  }
+
+  @Override
+  public int findRuns(int row, int[] starts, int[] ends) {
+    if (row < 0 || row >= nrRows) {
+      throw new IndexOutOfBoundsException("Row " + row + " is outside the map.");
+    }
+    int first = rowFirstRun[row];
+    int nrRuns = rowFirstRun[row + 1] - first;
+    System.arraycopy(this.starts, first, starts, 0, nrRuns);
+    System.arraycopy(this.ends, first, ends, 0, nrRuns);
+    return nrRuns;
+  }
+
+  /**
+   * Returns the number of islands in the map.
+   * <p>
+   * <p>Each run gets the label of the first run of the previous row it touches
+   * vertically, or a new label if it touches none, and the labels of the other
+   * runs it touches are merged in a union-find. The runs are read in place,
+   * so the cost is proportional to the number of runs.
+   *
+   * @return the number of islands in the map
+   */
+  public int countIslands() {
+    UnionFind islands = new UnionFind(nrColumns);
+    int[] labels = new int[16];
+    int[] aboveLabels = new int[16];
+    for (int row = 0; row < nrRows; row++) {
+      int first = rowFirstRun[row];
+      int last = rowFirstRun[row + 1];
+      if (last - first > labels.length) {
+        labels = new int[Math.max(last - first, labels.length * 2)];
+      }
+      int aboveFirst = row != 0 ? rowFirstRun[row - 1] : first;
+      int above = aboveFirst;
+      for (int run = first; run < last; run++) {
+        //Runs above that end before this run cannot touch the following runs either
+        while (above < first && ends[above] <= starts[run]) {
+          above++;
+        }
+        int label = -1;
+        for (int touching = above; touching < first && starts[touching] < ends[run]; touching++) {
+          int aboveLabel = aboveLabels[touching - aboveFirst];
+          if (label < 0) {
+            label = aboveLabel;
+          } else if (aboveLabel != label) {
+            islands.union(label, aboveLabel);
+          }
+        }
+        labels[run - first] = label < 0 ? islands.makeSet() : label;
+      }
+      int[] swap = aboveLabels;
+      aboveLabels = labels;
+      labels = swap;
+    }
+    return islands.getSetCount();
+  }
+}
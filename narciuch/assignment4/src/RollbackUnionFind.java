@@ -0,0 +1,94 @@
+import java.util.Arrays;
+
+/**
+ * This class implements a disjoint-set forest whose unions can be undone in
+ * the reverse order they were made.
+ *
+ * <p>Union is by rank and there is no path compression, so every union changes
+ * a single parent and can be undone in constant time, while finding stays
+ * logarithmic in the size of the set.
+ */
+public class RollbackUnionFind {
+  private final int[] parent;
+  private final byte[] rank;
+  //For each union that merged two sets, the root attached to the other one
+  private int[] history;
+  private int historySize;
+  //For each union that merged two sets, whether the rank of the new root was increased
+  private boolean[] rankIncreased;
+
+  /**
+   * Creates size sets, each containing only one of the elements 0..size-1.
+   */
+  public RollbackUnionFind(int size) {
+    this.parent = new int[size];
+    this.rank = new byte[size];
+    for (int element = 0; element < size; element++) {
+      parent[element] = element;
+    }
+    this.history = new int[16];
+    this.rankIncreased = new boolean[16];
+  }
+
+  public int find(int element) {
+    while (parent[element] != element) {
+      element = parent[element];
+    }
+    return element;
+  }
+
+  /**
+   * Merges the sets containing the two elements.
+   *
+   * @return true if the elements were in different sets before the merge,
+   * false if they were already in the same set
+   */
+  public boolean union(int first, int second) {
+    int firstRoot = find(first);
+    int secondRoot = find(second);
+    if (firstRoot == secondRoot) {
+      return false;
+    }
+    if (historySize == history.length) {
+      history = Arrays.copyOf(history, historySize * 2);
+      rankIncreased = Arrays.copyOf(rankIncreased, historySize * 2);
+    }
+    if (rank[firstRoot] < rank[secondRoot]) {
+      int swap = firstRoot;
+      firstRoot = secondRoot;
+      secondRoot = swap;
+    }
+    parent[secondRoot] = firstRoot;
+    boolean increased = rank[firstRoot] == rank[secondRoot];
+    if (increased) {
+      rank[firstRoot]++;
+    }
+    history[historySize] = secondRoot;
+    rankIncreased[historySize++] = increased;
+    return true;
+  }
+
+  /**
+   * @return a checkpoint to give to {@link #rollback(int)} to undo the unions made after now
+   */
+  public int checkpoint() {
+    return historySize;
+  }
+
+  /**
+   * Undoes the unions made since the checkpoint was taken, most recent first.
+   *
+   * @param checkpoint a value returned by {@link #checkpoint()}
+   */
+  public void rollback(int checkpoint) {
+    while (historySize > checkpoint) {
+      historySize--;
+      int attached = history[historySize];
+      int root = parent[attached];
+      if (rankIncreased[historySize]) {
+        rank[root]--;
+      }
+      parent[attached] = attached;
+    }
+  }
+}
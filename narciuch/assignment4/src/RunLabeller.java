@@ -0,0 +1,106 @@
+/**
+ * This class labels the horizontal runs of land of a map, one row at a time.
+ *
+ * <p>A run is a maximal sequence of adjacent land tiles within a row. Each run
+ * of a row gets the label of the first run of the previous row it touches
+ * vertically, or a new label if it touches none. When it touches several runs,
+ * their labels are merged in the union-find, so the number of sets of the
+ * union-find is the number of islands seen so far.
+ *
+ * <p>Only the runs of the previous row are kept, and the cost of a row is
+ * proportional to its number of runs rather than to its number of tiles.
+ */
+public class RunLabeller {
+  private final UnionFind islands;
+  private int[] aboveStarts;
+  private int[] aboveEnds;
+  private int[] aboveLabels;
+  private int nrAboveRuns;
+  private int[] starts;
+  private int[] ends;
+  private int[] labels;
+
+  /**
+   * @param nrColumns number of columns of the map
+   * @param islands   union-find in which a set is created for each new label
+   */
+  public RunLabeller(int nrColumns, UnionFind islands) {
+    int maxRuns = (nrColumns + 1) / 2 + 1;
+    this.islands = islands;
+    this.aboveStarts = new int[maxRuns];
+    this.aboveEnds = new int[maxRuns];
+    this.aboveLabels = new int[maxRuns];
+    this.starts = new int[maxRuns];
+    this.ends = new int[maxRuns];
+    this.labels = new int[maxRuns];
+  }
+
+  /**
+   * @return the array to fill with the first column of each run of the next row
+   */
+  public int[] getRunStarts() {
+    return starts;
+  }
+
+  /**
+   * @return the array to fill with the column after the last column of each run
+   * of the next row
+   */
+  public int[] getRunEnds() {
+    return ends;
+  }
+
+  /**
+   * Labels the runs of the next row, which must have been written in increasing
+   * order of columns to {@link #getRunStarts()} and {@link #getRunEnds()}.
+   *
+   * @param nrRuns number of runs of the row
+   * @return the labels of the runs, in the same order as the runs. The array is
+   * only valid until the next call, and the runs of the next row are joined
+   * with the labels it holds then, so changing them relabels this row.
+   */
+  public int[] labelRow(int nrRuns) {
+    int above = 0;
+    for (int run = 0; run < nrRuns; run++) {
+      int start = starts[run];
+      int end = ends[run];
+      //Runs above that end before this run cannot touch the following runs either
+      while (above < nrAboveRuns && aboveEnds[above] <= start) {
+        above++;
+      }
+      int label = -1;
+      for (int touching = above; touching < nrAboveRuns && aboveStarts[touching] < end; touching++) {
+        if (label < 0) {
+          label = aboveLabels[touching];
+        } else {
+          islands.union(label, aboveLabels[touching]);
+        }
+      }
+      labels[run] = label < 0 ? islands.makeSet() : label;
+    }
+
+    //The runs of this row become the runs above the next row
+    int[] swap = aboveStarts;
+    aboveStarts = starts;
+    starts = swap;
+    swap = aboveEnds;
+    aboveEnds = ends;
+    ends = swap;
+    swap = aboveLabels;
+    aboveLabels = labels;
+    labels = swap;
+    nrAboveRuns = nrRuns;
+    return aboveLabels;
+  }
+
+  /**
+   * Forgets the previous row, so that the next row starts a new map.
+   */
+  public void reset() {
+    nrAboveRuns = 0;
+  }
+
+  public UnionFind getIslands() {
+    return islands;
+  }
+}
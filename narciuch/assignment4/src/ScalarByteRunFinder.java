@@ -0,0 +1,26 @@
+/**
+ * This class finds runs of land one tile at a time.
+ */
+public class ScalarByteRunFinder implements ByteRunFinder {
+
+  @Override
+  public int findRuns(byte[] tiles, int offset, int length, int[] starts, int[] ends) {
+    int nrRuns = 0;
+    int column = offset;
+    int end = offset + length;
+    while (column < end) {
+      while (column < end && tiles[column] == 0) {
+        column++;
+      }
+      if (column == end) {
+        break;
+      }
+      starts[nrRuns] = column - offset;
+      while (column < end && tiles[column] != 0) {
+        column++;
+      }
+      ends[nrRuns++] = column - offset;
+    }
+    return nrRuns;
+  }
+}
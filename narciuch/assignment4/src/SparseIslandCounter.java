@@ -0,0 +1,79 @@
+import java.util.Arrays;
+
+/**
+ * This class counts the islands of a map given only by its land cells, for
+ * maps that are mostly water. The memory used is proportional to the number
+ * of land cells, whatever the size of the map.
+ *
+ * <p>The cells are sorted by their packed key, so they are visited row after
+ * row. The right neighbour of a cell, if land, is the next cell in that order;
+ * the neighbour below is looked up in a {@link LandCellSet}. Adjacent cells are
+ * merged in a union-find over the positions of the cells in the sorted order.
+ */
+public class SparseIslandCounter {
+
+  /**
+   * Returns the number of islands formed by the land cells. A cell listed
+   * several times counts once.
+   *
+   * @param rows    the rows of the land cells
+   * @param columns the columns of the land cells
+   * @return the number of islands
+   */
+  public int countIslands(int[] rows, int[] columns) {
+    if (rows.length != columns.length) {
+      throw new IllegalArgumentException("Every cell must have a row and a column.");
+    }
+    long[] keys = new long[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      keys[i] = LandCellSet.key(rows[i], columns[i]);
+    }
+    Arrays.sort(keys);
+    int nrCells = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (i == 0 || keys[i] != keys[i - 1]) {
+        keys[nrCells++] = keys[i];
+      }
+    }
+    return countSorted(keys, nrCells);
+  }
+
+  /**
+   * Returns the number of islands formed by the cells of the set.
+   *
+   * @param cells the land cells
+   * @return the number of islands
+   */
+  public int countIslands(LandCellSet cells) {
+    long[] keys = cells.toSortedKeys();
+    return countSorted(keys, keys.length);
+  }
+
+  /**
+   * @param keys    the keys of the cells, increasing and with no duplicates
+   * @param nrCells number of keys to read
+   */
+  private int countSorted(long[] keys, int nrCells) {
+    //Added in sorted order, so the index of a cell in the set is its position in keys
+    LandCellSet positions = new LandCellSet(nrCells);
+    for (int i = 0; i < nrCells; i++) {
+      positions.add(keys[i]);
+    }
+    UnionFind islands = new UnionFind(nrCells);
+    islands.makeSets(nrCells);
+    for (int i = 0; i < nrCells; i++) {
+      int row = LandCellSet.rowOf(keys[i]);
+      int column = LandCellSet.columnOf(keys[i]);
+      if (column != Integer.MAX_VALUE && i + 1 < nrCells && keys[i + 1] == LandCellSet.key(row, column + 1)) {
+        islands.union(i, i + 1);
+      }
+      if (row != Integer.MAX_VALUE) {
+        int below = positions.indexOf(LandCellSet.key(row + 1, column));
+        if (below >= 0) {
+          islands.union(i, below);
+        }
+      }
+    }
+    return islands.getSetCount();
+  }
+}
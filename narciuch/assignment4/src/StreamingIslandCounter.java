@@ -0,0 +1,154 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * This class counts the islands of a map that is read one row at a time,
+ * so that maps much larger than the memory can be counted.
+ *
+ * <p>Only the current row and the labels of the runs of land of the previous
+ * row are kept. After each row, an island that has no run in the row can not
+ * grow any more, so it is counted and forgotten, and the union-find is
+ * rebuilt with only the islands of the row. The memory used is therefore
+ * proportional to the number of columns, whatever the number of rows.
+ */
+public class StreamingIslandCounter {
+  private final MapRowDecoder decoder;
+  private final RunLabeller labeller;
+  private final UnionFind islands;
+  private final ByteBuffer row;
+  //Marks of the sets of the union-find, a set is marked when its mark equals the current stamp
+  private int[] marks;
+  private int stamp;
+  //For each set of the union-find, its label after the union-find is rebuilt
+  private int[] newLabels;
+
+  /**
+   * @param format    the layout of the rows of the map
+   * @param nrColumns number of columns of the map
+   */
+  public StreamingIslandCounter(MapFormat format, int nrColumns) {
+    this.decoder = new MapRowDecoder(format, nrColumns);
+    this.islands = new UnionFind(nrColumns);
+    this.labeller = new RunLabeller(nrColumns, islands);
+    this.row = ByteBuffer.allocate(decoder.getBytesPerRow());
+    this.marks = new int[nrColumns + 2];
+    this.newLabels = new int[nrColumns + 2];
+  }
+
+  /**
+   * Reads a map from the stream until its end and returns its number of islands.
+   *
+   * @param in the stream of rows of the map
+   * @return the number of islands in the map
+   * @throws IOException if the stream can not be read or ends in the middle of a row
+   */
+  public long countIslands(InputStream in) throws IOException {
+    return countIslands(Channels.newChannel(in));
+  }
+
+  /**
+   * Reads a map from the channel until its end and returns its number of islands.
+   *
+   * <p>Two tiles are part of the same island if they are both land and are
+   * adjacent horizontally or vertically.
+   *
+   * @param channel the channel of rows of the map
+   * @return the number of islands in the map
+   * @throws IOException if the channel can not be read or ends in the middle of a row
+   */
+  public long countIslands(ReadableByteChannel channel) throws IOException {
+    islands.clear();
+    labeller.reset();
+    long finishedIslands = 0;
+    int nrAboveIslands = 0;
+    while (readRow(channel)) {
+      int nrRuns = decoder.findRuns(row, 0, labeller.getRunStarts(), labeller.getRunEnds());
+      int[] labels = labeller.labelRow(nrRuns);
+      finishedIslands += finishIslands(labels, nrRuns, nrAboveIslands);
+      nrAboveIslands = islands.size();
+    }
+    //The islands of the last row can not grow any more either
+    return finishedIslands + nrAboveIslands;
+  }
+
+  /**
+   * Counts the islands of the previous row that have no run in this row, then
+   * rebuilds the union-find with one set for each island of this row.
+   *
+   * @param labels         labels of the runs of this row, replaced by the new labels
+   * @param nrRuns         number of runs of this row
+   * @param nrAboveIslands number of islands of the previous row, whose labels are
+   *                       0 to nrAboveIslands - 1
+   * @return the number of islands that can not grow any more
+   */
+  private int finishIslands(int[] labels, int nrRuns, int nrAboveIslands) {
+    ensureCapacity(islands.size());
+    if (stamp > Integer.MAX_VALUE - 3) {
+      Arrays.fill(marks, 0);
+      stamp = 0;
+    }
+
+    int alive = nextStamp();
+    for (int run = 0; run < nrRuns; run++) {
+      labels[run] = islands.find(labels[run]);
+      marks[labels[run]] = alive;
+    }
+
+    //Several labels of the previous row may have been merged into one island
+    int counted = nextStamp();
+    int finished = 0;
+    for (int label = 0; label < nrAboveIslands; label++) {
+      int root = islands.find(label);
+      if (marks[root] != alive && marks[root] != counted) {
+        marks[root] = counted;
+        finished++;
+      }
+    }
+
+    int relabelled = nextStamp();
+    islands.clear();
+    for (int run = 0; run < nrRuns; run++) {
+      int root = labels[run];
+      if (marks[root] != relabelled) {
+        marks[root] = relabelled;
+        newLabels[root] = islands.makeSet();
+      }
+      labels[run] = newLabels[root];
+    }
+    return finished;
+  }
+
+  private int nextStamp() {
+    return ++stamp;
+  }
+
+  private void ensureCapacity(int size) {
+    if (size > marks.length) {
+      marks = Arrays.copyOf(marks, Math.max(size, marks.length * 2));
+      newLabels = new int[marks.length];
+    }
+  }
+
+  /**
+   * Reads the next row into the row buffer.
+   *
+   * @return true if a row was read, false at the end of the channel
+   * @throws IOException if the channel ends in the middle of a row
+   */
+  private boolean readRow(ReadableByteChannel channel) throws IOException {
+    row.clear();
+    while (row.hasRemaining()) {
+      if (channel.read(row) < 0) {
+        if (row.position() == 0) {
+          return false;
+        }
+        throw new IOException("Map ends in the middle of a row.");
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,125 @@
+import java.util.Arrays;
+
+/**
+ * This class implements a disjoint-set forest over the integers 0..size-1,
+ * stored in primitive arrays.
+ *
+ * <p>Sets are created one at a time with {@link #makeSet()}, and the arrays
+ * grow as needed. Finding uses path halving and union is by rank, so any
+ * sequence of operations runs in near-linear time.
+ */
+public class UnionFind {
+  private int[] parent;
+  private byte[] rank;
+  private int size;
+  private int setCount;
+
+  public UnionFind(int initialCapacity) {
+    this.parent = new int[Math.max(initialCapacity, 16)];
+    this.rank = new byte[parent.length];
+  }
+
+  /**
+   * Creates a new set containing only a new element.
+   *
+   * @return the new element, which is the number of elements created before it
+   */
+  public int makeSet() {
+    if (size == parent.length) {
+      parent = Arrays.copyOf(parent, size * 2);
+      rank = Arrays.copyOf(rank, size * 2);
+    }
+    parent[size] = size;
+    rank[size] = 0;
+    setCount++;
+    return size++;
+  }
+
+  /**
+   * Creates count new sets, each containing only a new element.
+   *
+   * @param count the number of sets to create
+   * @return the first new element, the others following it
+   */
+  public int makeSets(int count) {
+    int first = size;
+    int newSize = Math.addExact(size, count);
+    if (newSize > parent.length) {
+      int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(newSize, 2L * parent.length));
+      parent = Arrays.copyOf(parent, capacity);
+      rank = Arrays.copyOf(rank, capacity);
+    }
+    for (int element = first; element < newSize; element++) {
+      parent[element] = element;
+    }
+    Arrays.fill(rank, first, newSize, (byte) 0);
+    size = newSize;
+    setCount += count;
+    return first;
+  }
+
+  /**
+   * Returns the representative of the set containing the element.
+   * <p>
+   * <p>Every element visited on the way to the representative is moved
+   * to point to its grandparent, which keeps the trees flat.
+   *
+   * @param element an element created by {@link #makeSet()}
+   * @return the representative of the set containing element
+   */
+  public int find(int element) {
+    while (parent[element] != element) {
+      parent[element] = parent[parent[element]];
+      element = parent[element];
+    }
+    return element;
+  }
+
+  /**
+   * Merges the sets containing the two elements.
+   *
+   * @param first  an element created by {@link #makeSet()}
+   * @param second an element created by {@link #makeSet()}
+   * @return true if the elements were in different sets before the merge,
+   * false if they were already in the same set
+   */
+  public boolean union(int first, int second) {
+    int firstRoot = find(first);
+    int secondRoot = find(second);
+    if (firstRoot == secondRoot) {
+      return false;
+    }
+    if (rank[firstRoot] < rank[secondRoot]) {
+      parent[firstRoot] = secondRoot;
+    } else if (rank[firstRoot] > rank[secondRoot]) {
+      parent[secondRoot] = firstRoot;
+    } else {
+      parent[secondRoot] = firstRoot;
+      rank[firstRoot]++;
+    }
+    setCount--;
+    return true;
+  }
+
+  /**
+   * @return the number of disjoint sets
+   */
+  public int getSetCount() {
+    return setCount;
+  }
+
+  /**
+   * @return the number of elements created since construction or the last {@link #clear()}
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes all elements while keeping the allocated arrays for reuse.
+   */
+  public void clear() {
+    size = 0;
+    setCount = 0;
+  }
+}
@@ -0,0 +1,260 @@
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * This class counts the islands of a volume of voxels, each either land or
+ * water, read one z-slice at a time so that volumes much larger than the
+ * memory can be counted.
+ *
+ * <p>Only the labels of the current and previous slices are kept, and the
+ * union-find holds the islands of these two slices only. After each slice, an
+ * island that has no voxel in the slice can not grow any more, so it is
+ * counted and forgotten, and the union-find is rebuilt with only the islands
+ * of the slice, as {@link StreamingIslandCounter} does with rows.
+ */
+public class VoxelIslandCounter {
+
+  /**
+   * Which voxels are adjacent.
+   */
+  public enum Connectivity {
+    /**
+     * Voxels sharing a face.
+     */
+    SIX,
+    /**
+     * Voxels sharing a face, an edge or a corner.
+     */
+    TWENTY_SIX
+  }
+
+  private final int nrRows;
+  private final int nrColumns;
+  private final Connectivity connectivity;
+  private final UnionFind islands;
+  //Labels of the voxels of the previous and current slices, or -1 for water
+  private int[] aboveLabels;
+  private int[] labels;
+  //Marks of the sets of the union-find, a set is marked when its mark equals the current stamp
+  private int[] marks;
+  private int stamp;
+  //For each set of the union-find, its label after the union-find is rebuilt
+  private int[] newLabels;
+
+  /**
+   * @param nrRows       number of rows (y) of each slice
+   * @param nrColumns    number of columns (x) of each slice
+   * @param connectivity which voxels are adjacent
+   */
+  public VoxelIslandCounter(int nrRows, int nrColumns, Connectivity connectivity) {
+    if (nrRows < 0 || nrColumns < 0) {
+      throw new IllegalArgumentException("Dimensions of the slices cannot be negative.");
+    }
+    int nrVoxels = Math.multiplyExact(nrRows, nrColumns);
+    this.nrRows = nrRows;
+    this.nrColumns = nrColumns;
+    this.connectivity = connectivity;
+    this.islands = new UnionFind(nrColumns);
+    this.aboveLabels = new int[nrVoxels];
+    this.labels = new int[nrVoxels];
+    this.marks = new int[16];
+    this.newLabels = new int[16];
+  }
+
+  /**
+   * Returns the number of islands of a volume held in memory.
+   *
+   * @param voxels the voxels indexed by [z][y][x], with true representing land
+   * @return the number of islands in the volume
+   * @throws IllegalArgumentException if a slice is not nrRows by nrColumns
+   */
+  public long countIslands(boolean[][][] voxels) {
+    return countIslands(Arrays.asList(voxels).iterator());
+  }
+
+  /**
+   * Reads the slices of a volume until there are no more and returns its
+   * number of islands. Each slice can be produced when it is asked for and
+   * dropped once the next one is asked for.
+   *
+   * @param slices the slices of the volume in increasing z, each indexed by [y][x]
+   *               with true representing land
+   * @return the number of islands in the volume
+   * @throws IllegalArgumentException if a slice is not nrRows by nrColumns
+   */
+  public long countIslands(Iterator<boolean[][]> slices) {
+    islands.clear();
+    long finishedIslands = 0;
+    int nrAboveIslands = 0;
+    boolean first = true;
+    while (slices.hasNext()) {
+      boolean[][] slice = slices.next();
+      checkShape(slice);
+      if (connectivity == Connectivity.SIX) {
+        labelSliceSix(slice, first);
+      } else {
+        labelSliceTwentySix(slice, first);
+      }
+      finishedIslands += finishIslands(nrAboveIslands);
+      nrAboveIslands = islands.size();
+      int[] swap = aboveLabels;
+      aboveLabels = labels;
+      labels = swap;
+      first = false;
+    }
+    //The islands of the last slice can not grow any more either
+    return finishedIslands + nrAboveIslands;
+  }
+
+  private void checkShape(boolean[][] slice) {
+    if (slice.length != nrRows) {
+      throw new IllegalArgumentException("Slice is not " + nrRows + " by " + nrColumns + ".");
+    }
+    for (boolean[] row : slice) {
+      if (row.length != nrColumns) {
+        throw new IllegalArgumentException("Slice is not " + nrRows + " by " + nrColumns + ".");
+      }
+    }
+  }
+
+  private void labelSliceSix(boolean[][] slice, boolean first) {
+    for (int row = 0; row < nrRows; row++) {
+      boolean[] tiles = slice[row];
+      int offset = row * nrColumns;
+      for (int column = 0; column < nrColumns; column++) {
+        int voxel = offset + column;
+        if (!tiles[column]) {
+          labels[voxel] = -1;
+          continue;
+        }
+        int label = first ? -1 : aboveLabels[voxel];
+        if (row != 0) {
+          label = join(label, labels[voxel - nrColumns]);
+        }
+        if (column != 0) {
+          label = join(label, labels[voxel - 1]);
+        }
+        labels[voxel] = label < 0 ? islands.makeSet() : label;
+      }
+    }
+  }
+
+  private void labelSliceTwentySix(boolean[][] slice, boolean first) {
+    int lastColumn = nrColumns - 1;
+    for (int row = 0; row < nrRows; row++) {
+      boolean[] tiles = slice[row];
+      int offset = row * nrColumns;
+      int firstRow = Math.max(0, row - 1);
+      int lastRow = Math.min(nrRows - 1, row + 1);
+      for (int column = 0; column < nrColumns; column++) {
+        int voxel = offset + column;
+        if (!tiles[column]) {
+          labels[voxel] = -1;
+          continue;
+        }
+        int label = -1;
+        if (!first) {
+          //The 3x3 voxels of the previous slice
+          int firstColumn = Math.max(0, column - 1);
+          int lastNeighbourColumn = Math.min(lastColumn, column + 1);
+          for (int neighbourRow = firstRow; neighbourRow <= lastRow; neighbourRow++) {
+            int neighbourOffset = neighbourRow * nrColumns;
+            for (int neighbourColumn = firstColumn; neighbourColumn <= lastNeighbourColumn; neighbourColumn++) {
+              label = join(label, aboveLabels[neighbourOffset + neighbourColumn]);
+            }
+          }
+        }
+        if (row != 0) {
+          int aboveRow = voxel - nrColumns;
+          if (column != 0) {
+            label = join(label, labels[aboveRow - 1]);
+          }
+          label = join(label, labels[aboveRow]);
+          if (column != lastColumn) {
+            label = join(label, labels[aboveRow + 1]);
+          }
+        }
+        if (column != 0) {
+          label = join(label, labels[voxel - 1]);
+        }
+        labels[voxel] = label < 0 ? islands.makeSet() : label;
+      }
+    }
+  }
+
+  /**
+   * Returns the label of a land voxel given its label so far and the label of
+   * one of its neighbours, merging their islands if both are land.
+   */
+  private int join(int label, int neighbour) {
+    if (neighbour < 0) {
+      return label;
+    }
+    if (label >= 0 && label != neighbour) {
+      islands.union(label, neighbour);
+      return label;
+    }
+    return neighbour;
+  }
+
+  /**
+   * Counts the islands of the previous slice that have no voxel in this slice,
+   * then rebuilds the union-find with one set for each island of this slice.
+   *
+   * @param nrAboveIslands number of islands of the previous slice, whose labels are
+   *                       0 to nrAboveIslands - 1
+   * @return the number of islands that can not grow any more
+   */
+  private int finishIslands(int nrAboveIslands) {
+    ensureCapacity(islands.size());
+    if (stamp > Integer.MAX_VALUE - 3) {
+      Arrays.fill(marks, 0);
+      stamp = 0;
+    }
+
+    int alive = nextStamp();
+    for (int voxel = 0; voxel < labels.length; voxel++) {
+      if (labels[voxel] >= 0) {
+        labels[voxel] = islands.find(labels[voxel]);
+        marks[labels[voxel]] = alive;
+      }
+    }
+
+    //Several labels of the previous slice may have been merged into one island
+    int counted = nextStamp();
+    int finished = 0;
+    for (int label = 0; label < nrAboveIslands; label++) {
+      int root = islands.find(label);
+      if (marks[root] != alive && marks[root] != counted) {
+        marks[root] = counted;
+        finished++;
+      }
+    }
+
+    int relabelled = nextStamp();
+    islands.clear();
+    for (int voxel = 0; voxel < labels.length; voxel++) {
+      int root = labels[voxel];
+      if (root < 0) {
+        continue;
+      }
+      if (marks[root] != relabelled) {
+        marks[root] = relabelled;
+        newLabels[root] = islands.makeSet();
+      }
+      labels[voxel] = newLabels[root];
+    }
+    return finished;
+  }
+
+  private int nextStamp() {
+    return ++stamp;
+  }
+
+  private void ensureCapacity(int size) {
+    if (size > marks.length) {
+      marks = Arrays.copyOf(marks, Math.max(size, marks.length * 2));
+      newLabels = new int[marks.length];
+    }
+  }
+}
@@ -0,0 +1,34 @@
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class VectorByteRunFinderTest {
+
+  @Test
+  public void vectorIsAvailable() {
+    assertTrue(ByteRunFinder.isVectorAvailable());
+    assertTrue(ByteRunFinder.vector() instanceof VectorByteRunFinder);
+  }
+
+  @Test
+  public void findsRunsAcrossVectors() {
+    //Runs crossing the boundaries of 32 and 64 tile vectors, and a tail read one tile at a time
+    byte[] tiles = new byte[150];
+    for (int i = 30; i < 70; i++) {
+      tiles[i] = 1;
+    }
+    tiles[127] = 5;
+    tiles[128] = -3;
+    tiles[149] = 1;
+    int[] starts = new int[75];
+    int[] ends = new int[75];
+    assertEquals(new VectorByteRunFinder().findRuns(tiles, 0, tiles.length, starts, ends), 3);
+    assertEquals(starts[0], 30);
+    assertEquals(ends[0], 70);
+    assertEquals(starts[1], 127);
+    assertEquals(ends[1], 129);
+    assertEquals(starts[2], 149);
+    assertEquals(ends[2], 150);
+  }
+}
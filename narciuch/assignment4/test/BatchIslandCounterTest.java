@@ -0,0 +1,53 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class BatchIslandCounterTest {
+
+  @Test
+  public void countsEveryMapInOrder() {
+    Random random = new Random(46);
+    List<boolean[][]> maps = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      boolean[][] lands = new boolean[random.nextInt(20)][1 + random.nextInt(20)];
+      for (boolean[] row : lands) {
+        for (int column = 0; column < row.length; column++) {
+          row[column] = random.nextBoolean();
+        }
+      }
+      maps.add(lands);
+    }
+    IslandFinder finder = new IslandFinder();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      int[] counts = new BatchIslandCounter(executor, 7).countIslands(maps);
+      assertEquals(counts.length, maps.size());
+      for (int i = 0; i < maps.size(); i++) {
+        assertEquals(counts[i], finder.getIslands(maps.get(i)));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void countsLongStream() {
+    boolean[][] checkerboard = {{true, false, true}, {false, true, false}};
+    int[] counts = new BatchIslandCounter().countIslands(IntStream.range(0, 10000).mapToObj(i -> checkerboard));
+    assertEquals(counts.length, 10000);
+    assertEquals(Arrays.stream(counts).sum(), 30000);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void errorOfAMapIsThrown() {
+    new BatchIslandCounter().countIslands(Arrays.asList(new boolean[][]{{true}}, null));
+  }
+}
@@ -0,0 +1,80 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class ByteRunFinderTest {
+
+  @Test
+  public void scalarFindsRuns() {
+    byte[] tiles = {9, 0, 1, 1, 0, 0, -1};
+    int[] starts = new int[4];
+    int[] ends = new int[4];
+    assertEquals(ByteRunFinder.scalar().findRuns(tiles, 0, tiles.length, starts, ends), 3);
+    assertEquals(starts[1], 2);
+    assertEquals(ends[1], 4);
+    assertEquals(starts[2], 6);
+    assertEquals(ends[2], 7);
+  }
+
+  @Test
+  public void implementationsMatchOnRandomRows() {
+    Random random = new Random(41);
+    ByteRunFinder scalar = ByteRunFinder.scalar();
+    ByteRunFinder other = ByteRunFinder.isVectorAvailable() ? ByteRunFinder.vector() : scalar;
+    for (int test = 0; test < 500; test++) {
+      int length = random.nextInt(300);
+      int offset = random.nextInt(10);
+      byte[] tiles = new byte[offset + length + random.nextInt(10)];
+      int runLength = 1 + random.nextInt(80);
+      for (int i = 0; i < tiles.length; i++) {
+        tiles[i] = (byte) (random.nextInt(runLength) == 0 ? random.nextInt(256) : i > 0 ? tiles[i - 1] : 0);
+      }
+      boolean[] lands = new boolean[length];
+      for (int column = 0; column < length; column++) {
+        lands[column] = tiles[offset + column] != 0;
+      }
+      int[] expectedStarts = new int[length / 2 + 1];
+      int[] expectedEnds = new int[length / 2 + 1];
+      int expected = BooleanLandMap.findRuns(lands, expectedStarts, expectedEnds);
+      for (ByteRunFinder finder : new ByteRunFinder[]{scalar, other}) {
+        int[] starts = new int[length / 2 + 1];
+        int[] ends = new int[length / 2 + 1];
+        assertEquals(finder.findRuns(tiles, offset, length, starts, ends), expected);
+        for (int run = 0; run < expected; run++) {
+          assertEquals(starts[run], expectedStarts[run]);
+          assertEquals(ends[run], expectedEnds[run]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void propertySelectsScalar() {
+    String previous = System.getProperty(ByteRunFinder.PROPERTY);
+    System.setProperty(ByteRunFinder.PROPERTY, "scalar");
+    try {
+      assertTrue(ByteRunFinder.select() instanceof ScalarByteRunFinder);
+    } finally {
+      if (previous == null) {
+        System.clearProperty(ByteRunFinder.PROPERTY);
+      } else {
+        System.setProperty(ByteRunFinder.PROPERTY, previous);
+      }
+    }
+  }
+
+  @Test
+  public void byteMapCountsIslands() {
+    boolean[][] lands = new boolean[40][100];
+    Random random = new Random(4);
+    for (boolean[] row : lands) {
+      for (int column = 0; column < row.length; column++) {
+        row[column] = random.nextInt(3) != 0;
+      }
+    }
+    assertEquals(new IslandFinder().getIslands(ByteLandMap.fromBooleans(lands)), new IslandFinder().getIslands(lands));
+  }
+}
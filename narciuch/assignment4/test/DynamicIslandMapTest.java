@@ -0,0 +1,57 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class DynamicIslandMapTest {
+
+  @Test
+  public void countsIslandsAfterEachAddition() {
+    DynamicIslandMap map = new DynamicIslandMap(3, 3);
+    assertEquals(map.islandCount(), 0);
+    assertEquals(map.addLand(0, 0), 1);
+    assertEquals(map.addLand(0, 2), 2);
+    assertEquals(map.addLand(2, 1), 3);
+    assertEquals(map.addLand(0, 1), 2);
+    assertEquals(map.addLand(1, 1), 1);
+    assertEquals(map.islandCount(), 1);
+  }
+
+  @Test
+  public void addingLandTwiceChangesNothing() {
+    DynamicIslandMap map = new DynamicIslandMap(2, 2);
+    map.addLand(0, 0);
+    assertEquals(map.addLand(0, 0), 1);
+  }
+
+  @Test
+  public void appliesBatches() {
+    DynamicIslandMap map = new DynamicIslandMap(3, 3);
+    int[] counts = map.addLands(new int[]{0, 1, 2, 1, 1}, new int[]{1, 0, 1, 2, 1});
+    assertTrue(Arrays.equals(counts, new int[]{1, 2, 3, 4, 1}));
+    assertTrue(map.isSameIsland(0, 1, 2, 1));
+    assertFalse(map.isSameIsland(0, 1, 0, 0));
+  }
+
+  @Test
+  public void matchesRecount() {
+    Random random = new Random(7);
+    DynamicIslandMap map = new DynamicIslandMap(30, 40);
+    boolean[][] land = new boolean[30][40];
+    for (int i = 0; i < 800; i++) {
+      int row = random.nextInt(30);
+      int column = random.nextInt(40);
+      land[row][column] = true;
+      assertEquals(map.addLand(row, column), new IslandFinder().getIslands(land));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void rejectsTileOutsideMap() {
+    new DynamicIslandMap(2, 2).addLand(2, 0);
+  }
+}
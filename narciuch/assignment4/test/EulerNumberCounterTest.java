@@ -0,0 +1,86 @@
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class EulerNumberCounterTest {
+
+  @Test
+  public void ringHasOneLake() {
+    boolean[][] lands = {
+      {true, true, true, false},
+      {true, false, true, false},
+      {true, true, true, false},
+      {false, false, false, true}
+    };
+    EulerNumberCounter counter = new EulerNumberCounter();
+    assertEquals(counter.eulerNumber(new BooleanLandMap(lands)), 1L);
+    assertEquals(counter.countLakes(new BooleanLandMap(lands)), 1L);
+  }
+
+  @Test
+  public void lakesTouchingAtACornerAreOne() {
+    boolean[][] lands = {
+      {true, true, true, true},
+      {true, false, true, true},
+      {true, true, false, true},
+      {true, true, true, true}
+    };
+    assertEquals(new EulerNumberCounter().countLakes(new BooleanLandMap(lands)), 1L);
+  }
+
+  @Test
+  public void matchesFloodFillOfWaterOnRandomMaps() {
+    Random random = new Random(44);
+    EulerNumberCounter counter = new EulerNumberCounter();
+    IslandFinder finder = new IslandFinder();
+    for (int test = 0; test < 300; test++) {
+      boolean[][] lands = new boolean[random.nextInt(12)][1 + random.nextInt(140)];
+      for (boolean[] row : lands) {
+        for (int column = 0; column < row.length; column++) {
+          row[column] = random.nextInt(10) < 6;
+        }
+      }
+      long lakes = countLakes(lands);
+      assertEquals(counter.countLakes(new BooleanLandMap(lands)), lakes);
+      assertEquals(counter.eulerNumber(PackedLandMap.fromBooleans(lands)), finder.getIslands(lands) - lakes);
+    }
+  }
+
+  private static long countLakes(boolean[][] lands) {
+    int nrRows = lands.length + 2;
+    int nrColumns = lands.length == 0 ? 2 : lands[0].length + 2;
+    //Surrounded by water, whose region reaching the border is not a lake
+    boolean[][] seen = new boolean[nrRows][nrColumns];
+    long regions = 0;
+    for (int row = 0; row < nrRows; row++) {
+      for (int column = 0; column < nrColumns; column++) {
+        if (seen[row][column] || isLand(lands, row, column)) {
+          continue;
+        }
+        regions++;
+        ArrayDeque<int[]> tiles = new ArrayDeque<>();
+        seen[row][column] = true;
+        tiles.push(new int[]{row, column});
+        while (!tiles.isEmpty()) {
+          int[] tile = tiles.pop();
+          for (int r = tile[0] - 1; r <= tile[0] + 1; r++) {
+            for (int c = tile[1] - 1; c <= tile[1] + 1; c++) {
+              if (r >= 0 && r < nrRows && c >= 0 && c < nrColumns && !seen[r][c] && !isLand(lands, r, c)) {
+                seen[r][c] = true;
+                tiles.push(new int[]{r, c});
+              }
+            }
+          }
+        }
+      }
+    }
+    return regions - 1;
+  }
+
+  private static boolean isLand(boolean[][] lands, int row, int column) {
+    return row >= 1 && row <= lands.length && column >= 1 && column <= lands[0].length && lands[row - 1][column - 1];
+  }
+}
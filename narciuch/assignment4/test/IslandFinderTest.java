@@ -1,6 +1,9 @@
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
 
 public class IslandFinderTest {
   IslandFinder islandFinder = new IslandFinder();
@@ -24,6 +27,52 @@ public class IslandFinderTest {
     assertEquals(islandFinder.getIslands(land), 1);
   }
 
+  @Test
+  public void mergesIslandsThatMeetLower() {
+    boolean[][] land = {
+      {true, false, true, false, true},
+      {true, false, true, false, true},
+      {true, true, true, true, true},
+      {false, false, false, false, false},
+      {true, false, true, true, false}};
+    assertEquals(islandFinder.getIslands(land), 3);
+  }
+
+  @Test
+  public void handlesLargeIsland() {
+    boolean[][] land = new boolean[2000][2000];
+    for (boolean[] row : land) {
+      Arrays.fill(row, true);
+    }
+    assertEquals(islandFinder.getIslands(land), 1);
+  }
+
+  @Test
+  public void labelsIslands() {
+    boolean[][] land = {
+      {false, true, false, true},
+      {true, true, false, false},
+      {false, false, true, false},
+      {false, false, true, false}};
+    int[][] expected = {
+      {0, 1, 0, 2},
+      {1, 1, 0, 0},
+      {0, 0, 3, 0},
+      {0, 0, 3, 0}};
+    assertTrue(Arrays.deepEquals(islandFinder.labelIslands(land), expected));
+  }
+
+  @Test
+  public void labelsMergedIslandsWithOneLabel() {
+    boolean[][] land = {
+      {true, false, true},
+      {true, true, true}};
+    int[][] expected = {
+      {1, 0, 1},
+      {1, 1, 1}};
+    assertTrue(Arrays.deepEquals(islandFinder.labelIslands(land), expected));
+  }
+
   @Test
   public void handlesEmptyLandMatrix() {
     boolean[][] land = {};
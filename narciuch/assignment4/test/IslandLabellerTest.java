@@ -0,0 +1,111 @@
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class IslandLabellerTest {
+
+  private static final boolean[][] DIAGONALS = {
+    {true, false, true, false},
+    {false, true, false, false},
+    {true, false, false, true},
+    {false, false, true, false}
+  };
+
+  @Test
+  public void countsWithFourNeighbours() {
+    assertEquals(new IslandLabeller(Neighbourhood.FOUR).countIslands(DIAGONALS), 6);
+  }
+
+  @Test
+  public void countsWithEightNeighbours() {
+    assertEquals(new IslandLabeller(Neighbourhood.EIGHT).countIslands(DIAGONALS), 2);
+  }
+
+  @Test
+  public void labelsWithEightNeighbours() {
+    int[][] labels = new IslandLabeller(Neighbourhood.EIGHT).labelIslands(DIAGONALS);
+    assertEquals(labels[0][0], 1);
+    assertEquals(labels[0][2], 1);
+    assertEquals(labels[2][0], 1);
+    assertEquals(labels[2][3], 2);
+    assertEquals(labels[3][2], 2);
+    assertEquals(labels[0][1], IslandLabeller.WATER);
+  }
+
+  @Test
+  public void countsWithCustomKernel() {
+    //Tiles two columns or two rows apart are adjacent, the ones in between are not
+    Neighbourhood jumps = Neighbourhood.of(new int[]{0, 2}, new int[]{2, 0});
+    boolean[][] lands = {
+      {true, true, true},
+      {false, false, false},
+      {true, false, false}
+    };
+    assertEquals(new IslandLabeller(jumps).countIslands(lands), 2);
+  }
+
+  @Test
+  public void matchesFloodFillOnRandomMaps() {
+    Random random = new Random(38);
+    Neighbourhood[] neighbourhoods = {
+      Neighbourhood.FOUR,
+      Neighbourhood.EIGHT,
+      Neighbourhood.of(new int[]{1, 2}, new int[]{2, 1}, new int[]{1, -2}, new int[]{2, -1}),
+      Neighbourhood.of(new int[]{0, 1}, new int[]{3, 0})
+    };
+    for (int test = 0; test < 200; test++) {
+      boolean[][] lands = new boolean[1 + random.nextInt(15)][1 + random.nextInt(15)];
+      for (boolean[] row : lands) {
+        for (int column = 0; column < row.length; column++) {
+          row[column] = random.nextBoolean();
+        }
+      }
+      for (Neighbourhood neighbourhood : neighbourhoods) {
+        IslandLabeller labeller = new IslandLabeller(neighbourhood);
+        int expected = floodFill(lands, neighbourhood);
+        assertEquals(labeller.countIslands(lands), expected);
+        int maxLabel = 0;
+        for (int[] row : labeller.labelIslands(lands)) {
+          for (int label : row) {
+            maxLabel = Math.max(maxLabel, label);
+          }
+        }
+        assertEquals(maxLabel, expected);
+      }
+    }
+  }
+
+  private static int floodFill(boolean[][] lands, Neighbourhood neighbourhood) {
+    int[] rowOffsets = neighbourhood.getRowOffsets();
+    int[] columnOffsets = neighbourhood.getColumnOffsets();
+    boolean[][] seen = new boolean[lands.length][lands[0].length];
+    int islands = 0;
+    for (int row = 0; row < lands.length; row++) {
+      for (int column = 0; column < lands[0].length; column++) {
+        if (!lands[row][column] || seen[row][column]) {
+          continue;
+        }
+        islands++;
+        ArrayDeque<int[]> tiles = new ArrayDeque<>();
+        seen[row][column] = true;
+        tiles.push(new int[]{row, column});
+        while (!tiles.isEmpty()) {
+          int[] tile = tiles.pop();
+          for (int offset = 0; offset < rowOffsets.length * 2; offset++) {
+            int sign = offset < rowOffsets.length ? 1 : -1;
+            int r = tile[0] + sign * rowOffsets[offset % rowOffsets.length];
+            int c = tile[1] + sign * columnOffsets[offset % rowOffsets.length];
+            if (r >= 0 && r < lands.length && c >= 0 && c < lands[0].length && lands[r][c] && !seen[r][c]) {
+              seen[r][c] = true;
+              tiles.push(new int[]{r, c});
+            }
+          }
+        }
+      }
+    }
+    return islands;
+  }
+}
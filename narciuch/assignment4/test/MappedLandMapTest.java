@@ -0,0 +1,76 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class MappedLandMapTest {
+  IslandFinder islandFinder = new IslandFinder();
+
+  @Test
+  public void countsIslandsInByteFile() throws IOException {
+    Path file = writeMap(new byte[]{
+      0, 1, 0, 1,
+      1, 1, 0, 0,
+      0, 0, 1, 0,
+      0, 0, 1, 0});
+    MappedLandMap map = MappedLandMap.open(file, MapFormat.BYTES, 4);
+    assertEquals(map.getNrRows(), 4);
+    assertEquals(map.getNrWindows(), 1);
+    assertEquals(islandFinder.getIslands(map), 3);
+    Files.delete(file);
+  }
+
+  @Test
+  public void countsIslandsInBitFile() throws IOException {
+    //Each row is 10 tiles packed in 2 bytes, least significant bit first
+    Path file = writeMap(new byte[]{
+      (byte) 0b00000101, 0b10,
+      (byte) 0b11111101, 0b11,
+      0, 0,
+      (byte) 0b10000000, 0b01});
+    MappedLandMap map = MappedLandMap.open(file, MapFormat.BITS, 10);
+    assertEquals(islandFinder.getIslands(map), 3);
+    Files.delete(file);
+  }
+
+  @Test
+  public void countsIslandsAcrossWindows() throws IOException {
+    //A vertical line crossing every window and a single-tile island every fourth row
+    byte[] tiles = new byte[3 * 1000];
+    for (int row = 0; row < 1000; row++) {
+      tiles[3 * row] = 1;
+      tiles[3 * row + 2] = (byte) (row % 4 == 0 ? 1 : 0);
+    }
+    Path file = writeMap(tiles);
+    MappedLandMap map = MappedLandMap.open(file, MapFormat.BYTES, 3, 100);
+    assertEquals(map.getNrWindows(), 31);
+    assertEquals(islandFinder.getIslands(map), 251);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertEquals(new ParallelIslandCounter(pool).countIslands(map), 251L);
+    } finally {
+      pool.shutdown();
+    }
+    Files.delete(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsIncompleteRow() throws IOException {
+    Path file = writeMap(new byte[6]);
+    try {
+      MappedLandMap.open(file, MapFormat.BYTES, 4);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private Path writeMap(byte[] tiles) throws IOException {
+    Path file = Files.createTempFile("map", ".bin");
+    Files.write(file, tiles);
+    return file;
+  }
+}
@@ -0,0 +1,32 @@
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+
+public class NeighbourhoodTest {
+
+  @Test
+  public void kernelsOfFourAndEightReturnTheConstants() {
+    assertSame(Neighbourhood.of(new int[]{1, 0}, new int[]{0, 1}), Neighbourhood.FOUR);
+    assertSame(Neighbourhood.of(new int[]{-1, -1}, new int[]{-1, 0}, new int[]{-1, 1}, new int[]{0, -1},
+      new int[]{0, 1}, new int[]{1, -1}, new int[]{1, 0}, new int[]{1, 1}), Neighbourhood.EIGHT);
+  }
+
+  @Test
+  public void keepsOffsetsBeforeTheTile() {
+    Neighbourhood neighbourhood = Neighbourhood.of(new int[]{2, 0}, new int[]{-2, 0}, new int[]{0, 3});
+    assertEquals(neighbourhood.size(), 2);
+    assertEquals(neighbourhood.getReach(), 2);
+    int[] rowOffsets = neighbourhood.getRowOffsets();
+    int[] columnOffsets = neighbourhood.getColumnOffsets();
+    assertEquals(rowOffsets[0], 0);
+    assertEquals(columnOffsets[0], -3);
+    assertEquals(rowOffsets[1], -2);
+    assertEquals(columnOffsets[1], 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroOffsetIsRejected() {
+    Neighbourhood.of(new int[]{0, 0});
+  }
+}
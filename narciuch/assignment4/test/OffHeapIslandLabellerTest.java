@@ -0,0 +1,57 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class OffHeapIslandLabellerTest {
+
+  @Test
+  public void arrayCrossesChunks() {
+    try (OffHeapIntArray array = new OffHeapIntArray(100, 4)) {
+      assertEquals(array.get(99), 0);
+      array.fill(10, 90, 7);
+      array.set(50, -1);
+      assertEquals(array.get(9), 0);
+      assertEquals(array.get(10), 7);
+      assertEquals(array.get(31), 7);
+      assertEquals(array.get(50), -1);
+      assertEquals(array.get(89), 7);
+      assertEquals(array.get(90), 0);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closedArrayCannotBeRead() {
+    OffHeapIntArray array = new OffHeapIntArray(10);
+    array.set(3, 3);
+    array.close();
+    array.get(3);
+  }
+
+  @Test
+  public void matchesOnHeapLabelling() {
+    Random random = new Random(47);
+    IslandFinder finder = new IslandFinder();
+    OffHeapIslandLabeller labeller = new OffHeapIslandLabeller();
+    for (int test = 0; test < 100; test++) {
+      boolean[][] lands = new boolean[1 + random.nextInt(30)][1 + random.nextInt(100)];
+      for (boolean[] row : lands) {
+        for (int column = 0; column < row.length; column++) {
+          row[column] = random.nextInt(10) < 6;
+        }
+      }
+      int nrColumns = lands[0].length;
+      int[][] expected = finder.labelIslands(lands);
+      try (OffHeapIntArray labels = new OffHeapIntArray((long) lands.length * nrColumns, 6)) {
+        int nrIslands = labeller.labelIslands(PackedLandMap.fromBooleans(lands), labels);
+        assertEquals(nrIslands, finder.getIslands(lands));
+        for (int row = 0; row < lands.length; row++) {
+          for (int column = 0; column < nrColumns; column++) {
+            assertEquals(labels.get((long) row * nrColumns + column), expected[row][column]);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,56 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class OfflineIslandCounterTest {
+
+  @Test
+  public void countsAfterAdditionsAndRemovals() {
+    OfflineIslandCounter counter = new OfflineIslandCounter(3, 3);
+    int[] rows = {0, 0, 0, 0, 1, 0, 2};
+    int[] columns = {0, 2, 1, 1, 1, 1, 1};
+    boolean[] isLand = {true, true, true, true, true, false, true};
+    int[] counts = counter.countIslands(rows, columns, isLand);
+    int[] expected = {1, 2, 1, 1, 1, 3, 3};
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(counts[i], expected[i]);
+    }
+  }
+
+  @Test
+  public void matchesRecountingAfterEveryEvent() {
+    Random random = new Random(37);
+    IslandFinder finder = new IslandFinder();
+    int nrRows = 12;
+    int nrColumns = 9;
+    int nrEvents = 500;
+    int[] rows = new int[nrEvents];
+    int[] columns = new int[nrEvents];
+    boolean[] isLand = new boolean[nrEvents];
+    for (int i = 0; i < nrEvents; i++) {
+      rows[i] = random.nextInt(nrRows);
+      columns[i] = random.nextInt(nrColumns);
+      isLand[i] = random.nextInt(3) != 0;
+    }
+    int[] counts = new OfflineIslandCounter(nrRows, nrColumns).countIslands(rows, columns, isLand);
+
+    boolean[][] lands = new boolean[nrRows][nrColumns];
+    for (int i = 0; i < nrEvents; i++) {
+      lands[rows[i]][columns[i]] = isLand[i];
+      assertEquals(counts[i], finder.getIslands(lands));
+    }
+  }
+
+  @Test
+  public void noEventsGiveNoCounts() {
+    OfflineIslandCounter counter = new OfflineIslandCounter(2, 2);
+    assertEquals(counter.countIslands(new int[0], new int[0], new boolean[0]).length, 0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void eventOutsideMapIsRejected() {
+    new OfflineIslandCounter(2, 2).countIslands(new int[]{2}, new int[]{0}, new boolean[]{true});
+  }
+}
@@ -0,0 +1,88 @@
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class PackedLandMapTest {
+  IslandFinder islandFinder = new IslandFinder();
+
+  @Test
+  public void packsTiles() {
+    boolean[][] land = {
+      {false, true, false, true},
+      {true, true, false, false}};
+    PackedLandMap map = PackedLandMap.fromBooleans(land);
+    assertEquals(map.getWordsPerRow(), 1);
+    assertEquals(map.getWord(0, 0), 0b1010L);
+    assertEquals(map.getWord(1, 0), 0b0011L);
+    assertTrue(map.isLand(0, 3));
+    assertFalse(map.isLand(0, 2));
+    map.setLand(0, 2, true);
+    assertTrue(map.isLand(0, 2));
+  }
+
+  @Test
+  public void setWordIgnoresBitsPastLastColumn() {
+    PackedLandMap map = new PackedLandMap(1, 70);
+    map.setWord(0, 1, -1L);
+    assertEquals(map.getWord(0, 1), 0b111111L);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void rejectsTileOutsideMap() {
+    new PackedLandMap(2, 2).isLand(0, 2);
+  }
+
+  @Test
+  public void findsRunsAcrossWords() {
+    PackedLandMap map = new PackedLandMap(1, 200);
+    for (int column = 60; column < 130; column++) {
+      map.setLand(0, column, true);
+    }
+    map.setLand(0, 0, true);
+    map.setLand(0, 192, true);
+    map.setLand(0, 199, true);
+    int[] starts = new int[101];
+    int[] ends = new int[101];
+    assertEquals(map.findRuns(0, starts, ends), 4);
+    assertEquals(starts[0], 0);
+    assertEquals(ends[0], 1);
+    assertEquals(starts[1], 60);
+    assertEquals(ends[1], 130);
+    assertEquals(starts[2], 192);
+    assertEquals(ends[2], 193);
+    assertEquals(starts[3], 199);
+    assertEquals(ends[3], 200);
+  }
+
+  @Test
+  public void countsIslands() {
+    boolean[][] land = {
+      {true, false, true, false, true},
+      {true, false, true, false, true},
+      {true, true, true, true, true},
+      {false, false, false, false, false},
+      {true, false, true, true, false}};
+    assertEquals(islandFinder.getIslands(PackedLandMap.fromBooleans(land)), 3);
+  }
+
+  @Test
+  public void countsIslandsInWideMap() {
+    PackedLandMap map = new PackedLandMap(3, 256);
+    for (int column = 0; column < 256; column += 2) {
+      map.setLand(0, column, true);
+      map.setLand(2, column, true);
+    }
+    for (int column = 0; column < 256; column++) {
+      map.setLand(1, column, column != 128);
+    }
+    assertEquals(islandFinder.getIslands(map), 4);
+  }
+
+  @Test
+  public void countsIslandsInEmptyMap() {
+    assertEquals(islandFinder.getIslands(new PackedLandMap(0, 0)), 0);
+    assertEquals(islandFinder.getIslands(new PackedLandMap(3, 0)), 0);
+  }
+}
@@ -0,0 +1,61 @@
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class ParallelIslandCounterTest {
+  ForkJoinPool pool = new ForkJoinPool(4);
+  ParallelIslandCounter counter = new ParallelIslandCounter(pool);
+
+  @After
+  public void shutDownPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void findsMultipleIslands() {
+    boolean[][] land = {
+      {false, true, false, true},
+      {true, true, false, false},
+      {false, false, true, false},
+      {false, false, true, false}};
+    assertEquals(counter.countIslands(land), 3L);
+  }
+
+  @Test
+  public void mergesIslandsAcrossStripes() {
+    //A comb whose teeth cross every stripe border and join in the last row
+    boolean[][] land = new boolean[1000][9];
+    for (int row = 0; row < 1000; row++) {
+      for (int column = 0; column < 9; column += 2) {
+        land[row][column] = true;
+      }
+    }
+    land[999] = new boolean[]{true, true, true, true, true, true, true, true, true};
+    assertEquals(counter.countIslands(land), 1L);
+    assertEquals(counter.countIslands(PackedLandMap.fromBooleans(land)), 1L);
+  }
+
+  @Test
+  public void matchesSequentialCount() {
+    Random random = new Random(42);
+    boolean[][] land = new boolean[1500][300];
+    for (boolean[] row : land) {
+      for (int column = 0; column < row.length; column++) {
+        row[column] = random.nextDouble() < 0.6;
+      }
+    }
+    long expected = new IslandFinder().getIslands(land);
+    assertEquals(counter.countIslands(land), expected);
+    assertEquals(counter.countIslands(PackedLandMap.fromBooleans(land)), expected);
+  }
+
+  @Test
+  public void handlesEmptyLandMatrix() {
+    assertEquals(counter.countIslands(new boolean[0][0]), 0L);
+    assertEquals(counter.countIslands(new boolean[][]{{}}), 0L);
+  }
+}
@@ -0,0 +1,78 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class RleLandMapTest {
+
+  @Test
+  public void countsIslandsOfRuns() {
+    RleLandMap lands = new RleLandMap(10, new int[]{0, 2, 3, 5},
+      new int[]{0, 6, 2, 0, 8}, new int[]{3, 10, 7, 1, 9});
+    assertEquals(lands.getNrRows(), 3);
+    assertEquals(lands.getNrRuns(), 5);
+    //The middle run joins the two runs above it, the two runs below it touch nothing
+    assertEquals(lands.countIslands(), 3);
+  }
+
+  @Test
+  public void keepsCopiesOfTheRuns() {
+    //One run on each of two rows, not overlapping, so two islands
+    int[] starts = {0, 6};
+    int[] ends = {3, 10};
+    RleLandMap lands = new RleLandMap(10, new int[]{0, 1, 2}, starts, ends);
+    starts[1] = 0;
+    assertEquals(lands.countIslands(), 2);
+    int[] rowStarts = new int[1];
+    int[] rowEnds = new int[1];
+    assertEquals(lands.findRuns(1, rowStarts, rowEnds), 1);
+    assertEquals(rowStarts[0], 6);
+  }
+
+  @Test
+  public void encodesBooleans() {
+    boolean[][] lands = {
+      {true, true, false, true},
+      {false, false, false, false},
+      {true, false, true, true}
+    };
+    RleLandMap encoded = RleLandMap.fromBooleans(lands);
+    assertEquals(encoded.getNrRuns(), 4);
+    int[] starts = new int[3];
+    int[] ends = new int[3];
+    assertEquals(encoded.findRuns(2, starts, ends), 2);
+    assertEquals(starts[1], 2);
+    assertEquals(ends[1], 4);
+    assertEquals(encoded.findRuns(1, starts, ends), 0);
+    assertEquals(encoded.countIslands(), 4);
+  }
+
+  @Test
+  public void matchesOtherCountersOnRandomMaps() {
+    Random random = new Random(39);
+    IslandFinder finder = new IslandFinder();
+    for (int test = 0; test < 100; test++) {
+      boolean[][] lands = new boolean[random.nextInt(20)][1 + random.nextInt(150)];
+      for (boolean[] row : lands) {
+        boolean land = random.nextBoolean();
+        for (int column = 0; column < row.length; column++) {
+          if (random.nextInt(8) == 0) {
+            land = !land;
+          }
+          row[column] = land;
+        }
+      }
+      int expected = finder.getIslands(lands);
+      assertEquals(RleLandMap.fromBooleans(lands).countIslands(), expected);
+      RleLandMap fromPacked = RleLandMap.fromLandMap(PackedLandMap.fromBooleans(lands));
+      assertEquals(fromPacked.countIslands(), expected);
+      assertEquals(finder.getIslands(fromPacked), expected);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void touchingRunsAreRejected() {
+    new RleLandMap(5, new int[]{0, 2}, new int[]{0, 2}, new int[]{2, 4});
+  }
+}
@@ -0,0 +1,35 @@
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class RollbackUnionFindTest {
+
+  @Test
+  public void mergesSets() {
+    RollbackUnionFind unionFind = new RollbackUnionFind(5);
+    assertTrue(unionFind.union(0, 1));
+    assertTrue(unionFind.union(2, 3));
+    assertTrue(unionFind.union(1, 3));
+    assertFalse(unionFind.union(0, 2));
+    assertEquals(unionFind.find(0), unionFind.find(3));
+    assertTrue(unionFind.find(4) != unionFind.find(0));
+    assertEquals(unionFind.checkpoint(), 3);
+  }
+
+  @Test
+  public void rollbackUndoesLaterUnions() {
+    RollbackUnionFind unionFind = new RollbackUnionFind(4);
+    unionFind.union(0, 1);
+    int checkpoint = unionFind.checkpoint();
+    unionFind.union(2, 3);
+    unionFind.union(1, 2);
+    assertEquals(unionFind.find(0), unionFind.find(3));
+    unionFind.rollback(checkpoint);
+    assertEquals(unionFind.find(0), unionFind.find(1));
+    assertTrue(unionFind.find(1) != unionFind.find(2));
+    assertTrue(unionFind.find(2) != unionFind.find(3));
+    assertTrue(unionFind.union(3, 0));
+  }
+}
@@ -0,0 +1,68 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class SparseIslandCounterTest {
+
+  @Test
+  public void countsCellsFarApart() {
+    int[] rows = {0, 0, 1, 2000000000, 2000000000, -5, Integer.MAX_VALUE};
+    int[] columns = {0, 1, 1, -1, 0, Integer.MAX_VALUE, Integer.MIN_VALUE};
+    assertEquals(new SparseIslandCounter().countIslands(rows, columns), 4);
+  }
+
+  @Test
+  public void duplicateCellsCountOnce() {
+    int[] rows = {3, 3, 4};
+    int[] columns = {7, 7, 9};
+    assertEquals(new SparseIslandCounter().countIslands(rows, columns), 2);
+  }
+
+  @Test
+  public void setHoldsAnyCell() {
+    LandCellSet cells = new LandCellSet(1);
+    assertTrue(cells.add(Integer.MIN_VALUE, Integer.MIN_VALUE));
+    assertTrue(cells.add(Integer.MIN_VALUE, Integer.MIN_VALUE + 1));
+    assertFalse(cells.add(Integer.MIN_VALUE, Integer.MIN_VALUE));
+    for (int column = 0; column < 100; column++) {
+      cells.add(-1, column);
+    }
+    assertEquals(cells.size(), 102);
+    assertTrue(cells.contains(-1, 99));
+    assertFalse(cells.contains(0, 0));
+    assertEquals(new SparseIslandCounter().countIslands(cells), 2);
+  }
+
+  @Test
+  public void matchesDenseCountingOnRandomMaps() {
+    Random random = new Random(40);
+    IslandFinder finder = new IslandFinder();
+    SparseIslandCounter counter = new SparseIslandCounter();
+    for (int test = 0; test < 100; test++) {
+      boolean[][] lands = new boolean[1 + random.nextInt(30)][1 + random.nextInt(30)];
+      LandCellSet cells = new LandCellSet(4);
+      int[] rows = new int[lands.length * lands[0].length];
+      int[] columns = new int[rows.length];
+      int nrCells = 0;
+      for (int row = 0; row < lands.length; row++) {
+        for (int column = 0; column < lands[0].length; column++) {
+          if (random.nextInt(3) == 0) {
+            lands[row][column] = true;
+            cells.add(row - 10, column - 10);
+            rows[nrCells] = row - 10;
+            columns[nrCells++] = column - 10;
+          }
+        }
+      }
+      int expected = finder.getIslands(lands);
+      assertEquals(counter.countIslands(cells), expected);
+      assertEquals(counter.countIslands(Arrays.copyOf(rows, nrCells),
+        Arrays.copyOf(columns, nrCells)), expected);
+    }
+  }
+}
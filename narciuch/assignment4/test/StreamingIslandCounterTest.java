@@ -0,0 +1,69 @@
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class StreamingIslandCounterTest {
+
+  @Test
+  public void countsIslandsFromBytes() throws IOException {
+    byte[] map = {
+      0, 1, 0, 1,
+      1, 1, 0, 0,
+      0, 0, 1, 0,
+      0, 0, 1, 0};
+    StreamingIslandCounter counter = new StreamingIslandCounter(MapFormat.BYTES, 4);
+    assertEquals(counter.countIslands(new ByteArrayInputStream(map)), 3L);
+  }
+
+  @Test
+  public void countsIslandsFromBits() throws IOException {
+    //Each row is 10 tiles packed in 2 bytes, least significant bit first
+    byte[] map = {
+      (byte) 0b00000101, 0b10,
+      (byte) 0b11111101, 0b11,
+      0, 0,
+      (byte) 0b10000000, 0b01};
+    StreamingIslandCounter counter = new StreamingIslandCounter(MapFormat.BITS, 10);
+    assertEquals(counter.countIslands(new ByteArrayInputStream(map)), 3L);
+  }
+
+  @Test
+  public void countsIslandsThatMergeAfterManyRows() throws IOException {
+    //Two arms that only meet in the last row, and islands finished on the way
+    byte[] map = {
+      1, 0, 1, 0, 1,
+      1, 0, 1, 0, 0,
+      1, 0, 0, 0, 1,
+      1, 0, 1, 0, 1,
+      1, 1, 1, 1, 1};
+    StreamingIslandCounter counter = new StreamingIslandCounter(MapFormat.BYTES, 5);
+    assertEquals(counter.countIslands(new ByteArrayInputStream(map)), 3L);
+  }
+
+  @Test
+  public void countsIslandsOfEmptyStream() throws IOException {
+    StreamingIslandCounter counter = new StreamingIslandCounter(MapFormat.BYTES, 4);
+    assertEquals(counter.countIslands(new ByteArrayInputStream(new byte[0])), 0L);
+  }
+
+  @Test
+  public void countsManyRowsWithSmallMemory() throws IOException {
+    //A vertical line of 100000 tiles and one single-tile island every other row
+    byte[] map = new byte[3 * 100000];
+    for (int row = 0; row < 100000; row++) {
+      map[3 * row] = 1;
+      map[3 * row + 2] = (byte) (row % 2);
+    }
+    StreamingIslandCounter counter = new StreamingIslandCounter(MapFormat.BYTES, 3);
+    assertEquals(counter.countIslands(new ByteArrayInputStream(map)), 50001L);
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsIncompleteRow() throws IOException {
+    StreamingIslandCounter counter = new StreamingIslandCounter(MapFormat.BYTES, 4);
+    counter.countIslands(new ByteArrayInputStream(new byte[6]));
+  }
+}
@@ -0,0 +1,57 @@
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class UnionFindTest {
+
+  @Test
+  public void createsDisjointSets() {
+    UnionFind unionFind = new UnionFind(2);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(unionFind.makeSet(), i);
+    }
+    assertEquals(unionFind.getSetCount(), 100);
+    assertEquals(unionFind.find(42), 42);
+  }
+
+  @Test
+  public void mergesSets() {
+    UnionFind unionFind = new UnionFind(4);
+    for (int i = 0; i < 6; i++) {
+      unionFind.makeSet();
+    }
+    assertTrue(unionFind.union(0, 1));
+    assertTrue(unionFind.union(2, 3));
+    assertTrue(unionFind.union(1, 3));
+    assertFalse(unionFind.union(0, 2));
+    assertEquals(unionFind.find(0), unionFind.find(3));
+    assertTrue(unionFind.find(4) != unionFind.find(0));
+    assertEquals(unionFind.getSetCount(), 3);
+  }
+
+  @Test
+  public void createsManySetsAtOnce() {
+    UnionFind unionFind = new UnionFind(4);
+    unionFind.makeSet();
+    assertEquals(unionFind.makeSets(50), 1);
+    assertEquals(unionFind.size(), 51);
+    assertEquals(unionFind.getSetCount(), 51);
+    assertTrue(unionFind.union(1, 50));
+    assertEquals(unionFind.find(50), unionFind.find(1));
+  }
+
+  @Test
+  public void clearRemovesAllElements() {
+    UnionFind unionFind = new UnionFind(4);
+    unionFind.makeSet();
+    unionFind.makeSet();
+    unionFind.union(0, 1);
+    unionFind.clear();
+    assertEquals(unionFind.size(), 0);
+    assertEquals(unionFind.getSetCount(), 0);
+    assertEquals(unionFind.makeSet(), 0);
+    assertEquals(unionFind.find(0), 0);
+  }
+}
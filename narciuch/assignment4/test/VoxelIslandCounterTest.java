@@ -0,0 +1,120 @@
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class VoxelIslandCounterTest {
+
+  @Test
+  public void diagonalVoxelsJoinOnlyWithTwentySix() {
+    boolean[][][] voxels = {
+      {{true, false}, {false, false}},
+      {{false, false}, {false, true}}
+    };
+    assertEquals(new VoxelIslandCounter(2, 2, VoxelIslandCounter.Connectivity.SIX).countIslands(voxels), 2L);
+    assertEquals(new VoxelIslandCounter(2, 2, VoxelIslandCounter.Connectivity.TWENTY_SIX).countIslands(voxels), 1L);
+  }
+
+  @Test
+  public void islandReconnectingAfterSeveralSlicesIsOne() {
+    //Two pillars joined by a bridge in the last slice
+    boolean[][] pillars = {{true, false, true}};
+    boolean[][] bridge = {{true, true, true}};
+    boolean[][][] voxels = {pillars, pillars, pillars, bridge};
+    assertEquals(new VoxelIslandCounter(1, 3, VoxelIslandCounter.Connectivity.SIX).countIslands(voxels), 1L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void raggedSliceIsRejected() {
+    boolean[][][] voxels = {
+      {{true, false}, {false, false}},
+      {{false, false}, {true}}
+    };
+    new VoxelIslandCounter(2, 2, VoxelIslandCounter.Connectivity.TWENTY_SIX).countIslands(voxels);
+  }
+
+  @Test
+  public void slicesAreProducedOneAtATime() {
+    //A thousand slices holding a diagonal line, one island with 26 neighbours only
+    Iterator<boolean[][]> slices = new Iterator<boolean[][]>() {
+      private int z;
+
+      @Override
+      public boolean hasNext() {
+        return z < 1000;
+      }
+
+      @Override
+      public boolean[][] next() {
+        boolean[][] slice = new boolean[4][4];
+        slice[z % 4][z % 4] = true;
+        z++;
+        return slice;
+      }
+    };
+    //Going back from the last corner to the first one is not a diagonal step
+    assertEquals(new VoxelIslandCounter(4, 4, VoxelIslandCounter.Connectivity.TWENTY_SIX).countIslands(slices), 250L);
+  }
+
+  @Test
+  public void matchesFloodFillOnRandomVolumes() {
+    Random random = new Random(45);
+    for (int test = 0; test < 100; test++) {
+      boolean[][][] voxels = new boolean[1 + random.nextInt(8)][1 + random.nextInt(8)][1 + random.nextInt(8)];
+      for (boolean[][] slice : voxels) {
+        for (boolean[] row : slice) {
+          for (int column = 0; column < row.length; column++) {
+            row[column] = random.nextInt(10) < 3;
+          }
+        }
+      }
+      for (VoxelIslandCounter.Connectivity connectivity : VoxelIslandCounter.Connectivity.values()) {
+        VoxelIslandCounter counter = new VoxelIslandCounter(voxels[0].length, voxels[0][0].length, connectivity);
+        assertEquals(counter.countIslands(voxels), floodFill(voxels, connectivity));
+      }
+    }
+  }
+
+  private static long floodFill(boolean[][][] voxels, VoxelIslandCounter.Connectivity connectivity) {
+    boolean[][][] seen = new boolean[voxels.length][voxels[0].length][voxels[0][0].length];
+    long islands = 0;
+    for (int z = 0; z < voxels.length; z++) {
+      for (int y = 0; y < voxels[0].length; y++) {
+        for (int x = 0; x < voxels[0][0].length; x++) {
+          if (!voxels[z][y][x] || seen[z][y][x]) {
+            continue;
+          }
+          islands++;
+          ArrayDeque<int[]> stack = new ArrayDeque<>();
+          seen[z][y][x] = true;
+          stack.push(new int[]{z, y, x});
+          while (!stack.isEmpty()) {
+            int[] voxel = stack.pop();
+            for (int dz = -1; dz <= 1; dz++) {
+              for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                  int steps = Math.abs(dz) + Math.abs(dy) + Math.abs(dx);
+                  if (steps == 0 || (connectivity == VoxelIslandCounter.Connectivity.SIX && steps > 1)) {
+                    continue;
+                  }
+                  int nz = voxel[0] + dz;
+                  int ny = voxel[1] + dy;
+                  int nx = voxel[2] + dx;
+                  if (nz >= 0 && nz < voxels.length && ny >= 0 && ny < voxels[0].length && nx >= 0
+                    && nx < voxels[0][0].length && voxels[nz][ny][nx] && !seen[nz][ny][nx]) {
+                    seen[nz][ny][nx] = true;
+                    stack.push(new int[]{nz, ny, nx});
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+    return islands;
+  }
+}
@@ -1,5 +1,7 @@
 package assignment4;
 
+import java.util.Arrays;
+
 public class IslandsCounter {
   
   /**
@@ -20,12 +22,13 @@ public class IslandsCounter {
     int rows = map.length;
     int columns = map[0].length;
     boolean[][] visited = new boolean[rows][columns];
+    int[] stack = new int[64];
 
     int count = 0;
     for (int i = 0; i < rows; i++) {
       for (int j = 0; j < columns; j++) {
         if (map[i][j] == true && !visited[i][j]) {
-          checkAdjacentTiles(map, i, j, visited);
+          stack = checkAdjacentTiles(map, i, j, visited, stack);
           ++count;
         }
       }
@@ -34,24 +37,60 @@ public class IslandsCounter {
   }
 
 /**
- * Checks whether a given tile is land and if it hasn't been visited before,
- * marks it as visited and then checks its adjacent tiles.
+ * Marks as visited all the tiles of the island that contains a given land tile.
+ * The island is visited one horizontal run of tiles at a time, and the runs
+ * that still have to be visited are kept on a stack of tile coordinates instead
+ * of recursive calls, so islands of any size can be visited.
  * 
  * @param map is given map of tiles
- * @param row is current row of tile that is checked
- * @param column is current column of tile that is checked
+ * @param row is row of a land tile that hasn't been visited before
+ * @param column is column of a land tile that hasn't been visited before
  * @param visited is array of booleans that contains information whether a tile is visited
+ * @param stack is an array that is used as the stack of tiles to visit
+ * 
+ * @return the stack, which is replaced by a larger array when it is full
  */
-  private void checkAdjacentTiles(boolean[][] map, int row, int column, boolean[][] visited) {
+  private int[] checkAdjacentTiles(boolean[][] map, int row, int column, boolean[][] visited,
+      int[] stack) {
     int rows = map.length;
     int columns = map[0].length;
-    if (row >= 0 && row < rows && column >= 0 && column < columns && map[row][column] == true
-        && !visited[row][column]) {
-      visited[row][column] = true;
-      checkAdjacentTiles(map, row + 1, column, visited);
-      checkAdjacentTiles(map, row - 1, column, visited);
-      checkAdjacentTiles(map, row, column + 1, visited);
-      checkAdjacentTiles(map, row, column - 1, visited);
+    int size = 0;
+    stack[size++] = row;
+    stack[size++] = column;
+
+    while (size > 0) {
+      int c = stack[--size];
+      int r = stack[--size];
+      if (visited[r][c]) {
+        continue;
+      }
+      int left = c;
+      while (left > 0 && map[r][left - 1] && !visited[r][left - 1]) {
+        left--;
+      }
+      int right = c;
+      while (right + 1 < columns && map[r][right + 1] && !visited[r][right + 1]) {
+        right++;
+      }
+      Arrays.fill(visited[r], left, right + 1, true);
+
+      for (int adjacentRow = r - 1; adjacentRow <= r + 1; adjacentRow += 2) {
+        if (adjacentRow < 0 || adjacentRow >= rows) {
+          continue;
+        }
+        for (int j = left; j <= right; j++) {
+          boolean isLand = map[adjacentRow][j] && !visited[adjacentRow][j];
+          boolean startsRun = j == left || !map[adjacentRow][j - 1] || visited[adjacentRow][j - 1];
+          if (isLand && startsRun) {
+            if (size + 2 > stack.length) {
+              stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[size++] = adjacentRow;
+            stack[size++] = j;
+          }
+        }
+      }
     }
+    return stack;
   }
 }
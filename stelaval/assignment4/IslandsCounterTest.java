@@ -1,6 +1,7 @@
 package assignment4;
 
 import static org.junit.Assert.assertEquals;
+import java.util.Arrays;
 import org.junit.Test;
 
 public class IslandsCounterTest {
@@ -47,6 +48,30 @@ public class IslandsCounterTest {
     assertEquals (1, counter.countIslands(map));
   }
   
+  @Test
+  public void islandAroundLake() {
+    
+    boolean[][] map = new boolean[][] {
+      {true, true, true, false, true},
+      {true, false, true, false, false},
+      {true, false, true, true, true},
+      {true, true, false, false, true}
+    };
+    
+    assertEquals (2, counter.countIslands(map));
+  }
+  
+  @Test
+  public void largeIsland() {
+    
+    boolean[][] map = new boolean[2000][2000];
+    for (boolean[] row : map) {
+      Arrays.fill(row, true);
+    }
+    
+    assertEquals (1, counter.countIslands(map));
+  }
+  
   @Test(expected = IllegalArgumentException.class)
   public void emptyMap() {
     
@@ -0,0 +1,187 @@
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Answers lowest common ancestor queries on a binary tree in constant time,
+ * after a build in O(n log n).
+ *
+ * The tree is walked once to record its Euler tour, the sequence of nodes
+ * visited when going down to every child and back up. The lowest common
+ * ancestor of two nodes is the shallowest node of the tour between their first
+ * visits, found with a sparse table of the shallowest node of every range of
+ * 2^k visits. Nodes are numbered in preorder and everything is kept in int arrays.
+ * The tree must not change after the build.
+ */
+public class EulerTourLca<T> {
+
+  private final Map<Node<T>, Integer> ids;
+  private final Node<T>[] nodes;
+  private final int[] depths;
+  // Index in the tour of the first visit of each node
+  private final int[] firstVisits;
+  // sparseTable[k][i] is the shallowest node of the visits i to i + 2^k - 1
+  private final int[][] sparseTable;
+
+  /**
+   * Builds the tour and the sparse table of a tree.
+   * @param tree  a generic binary tree, whose root is set
+   * @throws IllegalArgumentException if the root of the tree is not set
+   */
+  public EulerTourLca(BinaryTree<T> tree) throws IllegalArgumentException {
+    if (tree.getRoot() == null) {
+      throw new IllegalArgumentException("Root is not set.");
+    }
+    int nodeCount = countNodes(tree.getRoot());
+    ids = new IdentityHashMap<Node<T>, Integer>(nodeCount);
+    nodes = newNodeArray(nodeCount);
+    depths = new int[nodeCount];
+    firstVisits = new int[nodeCount];
+    int[] tour = new int[2 * nodeCount - 1];
+    int tourLength = 0;
+
+    // Depth first without recursion, so that deep trees do not overflow the stack
+    int[] stack = new int[nodeCount];
+    // Number of children of each node of the stack already visited
+    int[] visitedChildren = new int[nodeCount];
+    int top = 0;
+    int nextId = 0;
+    stack[0] = addNode(tree.getRoot(), nextId++, 0);
+    firstVisits[0] = tourLength;
+    tour[tourLength++] = 0;
+    while (top >= 0) {
+      int id = stack[top];
+      int visited = visitedChildren[top]++;
+      Node<T> child = visited == 0 ? nodes[id].getLeft() : visited == 1 ? nodes[id].getRight() : null;
+      if (visited >= 2) {
+        // Back up to the parent
+        top--;
+        if (top >= 0) {
+          tour[tourLength++] = stack[top];
+        }
+      } else if (child != null) {
+        int childId = addNode(child, nextId++, depths[id] + 1);
+        firstVisits[childId] = tourLength;
+        tour[tourLength++] = childId;
+        top++;
+        stack[top] = childId;
+        visitedChildren[top] = 0;
+      }
+    }
+
+    int levels = 32 - Integer.numberOfLeadingZeros(tourLength);
+    sparseTable = new int[levels][];
+    sparseTable[0] = tour;
+    for (int k = 1; k < levels; k++) {
+      int[] half = sparseTable[k - 1];
+      int[] full = new int[tourLength - (1 << k) + 1];
+      for (int i = 0; i < full.length; i++) {
+        full[i] = shallowest(half[i], half[i + (1 << (k - 1))]);
+      }
+      sparseTable[k] = full;
+    }
+  }
+
+  /**
+   * Find the lowest common ancestor of two nodes, which may be the nodes themselves.
+   * @param node1 a generic node in the tree
+   * @param node2 a generic node in the tree
+   * @return      the value of the lowest common ancestor
+   * @throws IllegalArgumentException if a node is not in the tree
+   */
+  public T lowestCommonAncestor(Node<T> node1, Node<T> node2) throws IllegalArgumentException {
+    return nodes[lowestCommonAncestorId(getId(node1), getId(node2))].getData();
+  }
+
+  /**
+   * Find the lowest common ancestor of two nodes given by their ids.
+   * @param id1 the id of a node
+   * @param id2 the id of a node
+   * @return    the id of the lowest common ancestor
+   */
+  public int lowestCommonAncestorId(int id1, int id2) {
+    int from = Math.min(firstVisits[id1], firstVisits[id2]);
+    int to = Math.max(firstVisits[id1], firstVisits[id2]);
+    // Two ranges of 2^k visits cover the visits from..to
+    int k = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+    return shallowest(sparseTable[k][from], sparseTable[k][to - (1 << k) + 1]);
+  }
+
+  /**
+   * @param node a generic node in the tree
+   * @return     the preorder number of the node, from 0 for the root
+   * @throws IllegalArgumentException if the node is not in the tree
+   */
+  public int getId(Node<T> node) throws IllegalArgumentException {
+    Integer id = ids.get(node);
+    if (id == null) {
+      throw new IllegalArgumentException("Node is not in the tree.");
+    }
+    return id;
+  }
+
+  public Node<T> getNode(int id) {
+    return nodes[id];
+  }
+
+  public int getDepth(int id) {
+    return depths[id];
+  }
+
+  public int size() {
+    return nodes.length;
+  }
+
+  private int addNode(Node<T> node, int id, int depth) {
+    ids.put(node, id);
+    nodes[id] = node;
+    depths[id] = depth;
+    return id;
+  }
+
+  private int shallowest(int id1, int id2) {
+    return depths[id1] <= depths[id2] ? id1 : id2;
+  }
+
+  private static <T> int countNodes(Node<T> root) {
+    int count = 0;
+    Node<T>[] stack = newNodeArray(16);
+    int top = 0;
+    stack[0] = root;
+    while (top >= 0) {
+      Node<T> node = stack[top--];
+      count++;
+      if (top + 2 >= stack.length) {
+        stack = Arrays.copyOf(stack, stack.length * 2);
+      }
+      if (node.getLeft() != null) {
+        stack[++top] = node.getLeft();
+      }
+      if (node.getRight() != null) {
+        stack[++top] = node.getRight();
+      }
+    }
+    return count;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <T> Node<T>[] newNodeArray(int length) {
+    return (Node<T>[]) new Node[length];
+  }
+
+  public static void main(String[] args) {
+    BinaryTree<Integer> tree = new BinaryTree<Integer>();
+
+    Node<Integer> root = tree.setRoot(7);
+    Node<Integer> three = root.addChild(3, Node.Side.LEFT);
+    Node<Integer> four = root.addChild(4, Node.Side.RIGHT);
+    Node<Integer> two = three.addChild(2, Node.Side.LEFT);
+    Node<Integer> five = three.addChild(5, Node.Side.RIGHT);
+    Node<Integer> eight = four.addChild(8, Node.Side.RIGHT);
+    Node<Integer> one = two.addChild(1, Node.Side.LEFT);
+    Node<Integer> six = two.addChild(6, Node.Side.RIGHT);
+
+    EulerTourLca<Integer> lca = new EulerTourLca<Integer>(tree);
+    System.out.println(lca.lowestCommonAncestor(six, five));
+  }
+}
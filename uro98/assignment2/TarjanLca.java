@@ -0,0 +1,193 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers a batch of lowest common ancestor queries known up front with
+ * Tarjan's offline algorithm, in a single depth first search of the tree.
+ *
+ * The queries of each node are kept in one int array indexed by node
+ * (compressed sparse rows). When the search leaves a node, the node is merged
+ * into the set of its parent in an int array union-find, and the set remembers
+ * the parent as its ancestor. For each query of the node whose other node has
+ * already been left, the answer is the ancestor of the set of the other node.
+ * A batch of q pairs on n nodes costs O(n + q a(n)), with a the inverse
+ * Ackermann function, and nothing is built per query.
+ */
+public class TarjanLca {
+
+  /**
+   * Find the lowest common ancestor of each pair (nodes1[i], nodes2[i]).
+   * @param tree    a generic binary tree
+   * @param nodes1  the first node of each pair
+   * @param nodes2  the second node of each pair
+   * @return        the value of the lowest common ancestor of each pair
+   * @throws IllegalArgumentException if the lists have different sizes or a node is not in the tree
+   */
+  public static <T> List<T> lowestCommonAncestors(BinaryTree<T> tree, List<Node<T>> nodes1, List<Node<T>> nodes2)
+      throws IllegalArgumentException {
+    if (nodes1.size() != nodes2.size()) {
+      throw new IllegalArgumentException("Every pair must have two nodes.");
+    }
+    int queryCount = nodes1.size();
+
+    // Number the nodes appearing in the queries
+    Map<Node<T>, Integer> queryNodes = new IdentityHashMap<Node<T>, Integer>();
+    int[] ends1 = new int[queryCount];
+    int[] ends2 = new int[queryCount];
+    for (int query = 0; query < queryCount; query++) {
+      ends1[query] = numberNode(queryNodes, nodes1.get(query));
+      ends2[query] = numberNode(queryNodes, nodes2.get(query));
+    }
+
+    // The queries of query node k are queries[offsets[k]] to queries[offsets[k + 1] - 1]
+    int queryNodeCount = queryNodes.size();
+    int[] offsets = new int[queryNodeCount + 1];
+    for (int query = 0; query < queryCount; query++) {
+      offsets[ends1[query] + 1]++;
+      offsets[ends2[query] + 1]++;
+    }
+    for (int k = 0; k < queryNodeCount; k++) {
+      offsets[k + 1] += offsets[k];
+    }
+    int[] queries = new int[2 * queryCount];
+    int[] next = Arrays.copyOf(offsets, queryNodeCount);
+    for (int query = 0; query < queryCount; query++) {
+      queries[next[ends1[query]]++] = query;
+      queries[next[ends2[query]]++] = query;
+    }
+
+    // Id in the search of each query node once it has been left, or -1
+    int[] leftIds = new int[queryNodeCount];
+    Arrays.fill(leftIds, -1);
+    Object[] answers = new Object[queryCount];
+
+    // Union-find over the ids of the nodes in the order they are reached
+    int[] parent = new int[16];
+    byte[] rank = new byte[16];
+    int[] ancestor = new int[16];
+    Node<T>[] nodesById = newNodeArray(16);
+    int nodeCount = 0;
+
+    // Depth first without recursion, so that deep trees do not overflow the stack
+    Node<T>[] stack = newNodeArray(16);
+    int[] stackIds = new int[16];
+    int[] visitedChildren = new int[16];
+    int top = -1;
+    Node<T> root = tree.getRoot();
+    Node<T> reached = root;
+    while (reached != null || top >= 0) {
+      if (reached != null) {
+        if (nodeCount == parent.length) {
+          parent = Arrays.copyOf(parent, nodeCount * 2);
+          rank = Arrays.copyOf(rank, nodeCount * 2);
+          ancestor = Arrays.copyOf(ancestor, nodeCount * 2);
+          nodesById = Arrays.copyOf(nodesById, nodeCount * 2);
+        }
+        parent[nodeCount] = nodeCount;
+        ancestor[nodeCount] = nodeCount;
+        nodesById[nodeCount] = reached;
+        if (++top == stack.length) {
+          stack = Arrays.copyOf(stack, top * 2);
+          stackIds = Arrays.copyOf(stackIds, top * 2);
+          visitedChildren = Arrays.copyOf(visitedChildren, top * 2);
+        }
+        stack[top] = reached;
+        stackIds[top] = nodeCount++;
+        visitedChildren[top] = 0;
+        reached = null;
+        continue;
+      }
+
+      Node<T> node = stack[top];
+      int visited = visitedChildren[top]++;
+      if (visited < 2) {
+        reached = visited == 0 ? node.getLeft() : node.getRight();
+        continue;
+      }
+
+      // Leave the node, whose subtree is now a single set with the node as ancestor
+      int id = stackIds[top];
+      Integer k = queryNodes.get(node);
+      if (k != null) {
+        leftIds[k] = id;
+        for (int i = offsets[k]; i < offsets[k + 1]; i++) {
+          int query = queries[i];
+          int other = ends1[query] == k ? ends2[query] : ends1[query];
+          if (leftIds[other] >= 0) {
+            answers[query] = nodesById[ancestor[find(parent, leftIds[other])]].getData();
+          }
+        }
+      }
+      top--;
+      if (top >= 0) {
+        int parentId = stackIds[top];
+        int root1 = find(parent, parentId);
+        int root2 = find(parent, id);
+        int merged = root1;
+        if (rank[root1] < rank[root2]) {
+          parent[root1] = root2;
+          merged = root2;
+        } else {
+          parent[root2] = root1;
+          if (rank[root1] == rank[root2]) {
+            rank[root1]++;
+          }
+        }
+        ancestor[merged] = parentId;
+      }
+    }
+
+    for (int leftId : leftIds) {
+      if (leftId < 0) {
+        throw new IllegalArgumentException("Node is not in the tree.");
+      }
+    }
+    List<T> values = new ArrayList<T>(queryCount);
+    for (Object answer : answers) {
+      @SuppressWarnings("unchecked")
+      T value = (T) answer;
+      values.add(value);
+    }
+    return values;
+  }
+
+  private static <T> int numberNode(Map<Node<T>, Integer> queryNodes, Node<T> node) {
+    Integer k = queryNodes.get(node);
+    if (k == null) {
+      k = queryNodes.size();
+      queryNodes.put(node, k);
+    }
+    return k;
+  }
+
+  private static int find(int[] parent, int id) {
+    while (parent[id] != id) {
+      parent[id] = parent[parent[id]];
+      id = parent[id];
+    }
+    return id;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <T> Node<T>[] newNodeArray(int length) {
+    return (Node<T>[]) new Node[length];
+  }
+
+  public static void main(String[] args) {
+    BinaryTree<Integer> tree = new BinaryTree<Integer>();
+
+    Node<Integer> root = tree.setRoot(7);
+    Node<Integer> three = root.addChild(3, Node.Side.LEFT);
+    Node<Integer> four = root.addChild(4, Node.Side.RIGHT);
+    Node<Integer> two = three.addChild(2, Node.Side.LEFT);
+    Node<Integer> five = three.addChild(5, Node.Side.RIGHT);
+    Node<Integer> eight = four.addChild(8, Node.Side.RIGHT);
+    Node<Integer> one = two.addChild(1, Node.Side.LEFT);
+    Node<Integer> six = two.addChild(6, Node.Side.RIGHT);
+
+    System.out.println(lowestCommonAncestors(tree, Arrays.asList(six, one, eight), Arrays.asList(five, six, eight)));
+  }
+}
@@ -17,14 +17,16 @@ public class CountIslands {
     
     boolean[][] mapCopy = new boolean[rowCount][colCount];
     for (int i = 0; i < rowCount; i++) {
-      mapCopy[i] = Arrays.copyOf(map[i], rowCount);
+      mapCopy[i] = Arrays.copyOf(map[i], colCount);
     }
     
+    ScanLineFloodFill floodFill = new ScanLineFloodFill();
     int count = 0;
 
-    for (int y = 0; y < colCount; y++) {
-      for (int x = 0; x < rowCount; x++) {
-        if (findIsland(y, x, rowCount, colCount, mapCopy)) {
+    for (int y = 0; y < rowCount; y++) {
+      for (int x = 0; x < colCount; x++) {
+        // Disable the whole island once it has been found
+        if (floodFill.fill(mapCopy, y, x) > 0) {
           count++;
         }
       }
@@ -48,37 +50,4 @@ public class CountIslands {
     
     return isMatching;
   }
-
-  private static boolean findIsland(int y, int x, int rowCount, int colCount, boolean[][] map) {
-
-    if (isOutOfBounds(y, x, rowCount, colCount)) {
-      return false;
-    }
-
-    if (map[y][x] == true) {
-      // Disable the land as it has been found
-      map[y][x] = false;
-      
-      // The surrounding land is part of the same island
-      visitSurroundingTiles(y, x, rowCount, colCount, map);
-
-      return true;
-    }
-    
-    return false;
-  }
-  
-  private static boolean isOutOfBounds(int y, int x, int rowCount, int colCount) {
-    return (y < 0 || y >= rowCount || x < 0 || x >= colCount);
-  }
-
-  /**
-   * Disables vertically and horizontally adjacent tiles.
-   */
-  private static void visitSurroundingTiles(int y, int x, int rowCount, int colCount, boolean[][] map) {
-    findIsland(y + 1, x, rowCount, colCount, map);
-    findIsland(y - 1, x, rowCount, colCount, map);
-    findIsland(y, x + 1, rowCount, colCount, map);
-    findIsland(y, x - 1, rowCount, colCount, map);
-  }
 }
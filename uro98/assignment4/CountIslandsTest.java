@@ -1,6 +1,8 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertArrayEquals;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 public class CountIslandsTest {
@@ -56,6 +58,30 @@ public class CountIslandsTest {
     assertEquals(1, numberOfIslands);
   }
   
+  @Test
+  public void testNonSquareMap() {
+    boolean[][] map = new boolean[][] {
+      {true, false, true, false, true, true},
+      {true, false, false, false, false, true}
+    };
+    
+    int numberOfIslands = CountIslands.countIslands(2, 6, map);
+    
+    assertEquals(3, numberOfIslands);
+  }
+  
+  @Test
+  public void testLargeIslandDoesNotOverflowStack() {
+    boolean[][] map = new boolean[2000][2000];
+    for (boolean[] row : map) {
+      Arrays.fill(row, true);
+    }
+    
+    int numberOfIslands = CountIslands.countIslands(2000, 2000, map);
+    
+    assertEquals(1, numberOfIslands);
+  }
+  
   @Test(expected = IllegalArgumentException.class)
   public void testNonMatchingDimensionsThrowsException() {
     boolean[][] map = new boolean[][] {
@@ -0,0 +1,87 @@
+import java.util.Arrays;
+
+/**
+ * Flood fills islands of a boolean map one horizontal run of land at a time.
+ *
+ * <p>Tiles still to be visited are kept on an explicit stack instead of the call
+ * stack, so the size of an island is limited only by the heap. The stack grows
+ * as needed and is reused between fills.
+ */
+public class ScanLineFloodFill {
+
+  private int[] stack = new int[64];
+  private int size;
+
+  /**
+   * Turns every land tile of the island containing the given tile into water.
+   * Tiles are connected horizontally and vertically.
+   * @param map     the boolean map where true is land and false is water
+   * @param row     the row of a tile of the island
+   * @param column  the column of a tile of the island
+   * @return the number of tiles of the island, 0 if the given tile is water
+   */
+  public int fill(boolean[][] map, int row, int column) {
+    if (!map[row][column]) {
+      return 0;
+    }
+
+    int rowCount = map.length;
+    int tiles = 0;
+    size = 0;
+    push(row, column);
+
+    while (size > 0) {
+      size -= 2;
+      int y = stack[size];
+      int x = stack[size + 1];
+      boolean[] line = map[y];
+      if (!line[x]) {
+        continue;
+      }
+
+      // Extend the run of land to both sides and disable it
+      int left = x;
+      while (left > 0 && line[left - 1]) {
+        left--;
+      }
+      int right = x;
+      while (right + 1 < line.length && line[right + 1]) {
+        right++;
+      }
+      Arrays.fill(line, left, right + 1, false);
+      tiles += right - left + 1;
+
+      // Every run of land touching the disabled run above or below is part of the same island
+      if (y > 0) {
+        pushRuns(map[y - 1], y - 1, left, right);
+      }
+      if (y + 1 < rowCount) {
+        pushRuns(map[y + 1], y + 1, left, right);
+      }
+    }
+
+    return tiles;
+  }
+
+  /**
+   * Pushes the first tile of every run of land of the given row between the left
+   * and right column, both inclusive.
+   */
+  private void pushRuns(boolean[] line, int y, int left, int right) {
+    right = Math.min(right, line.length - 1);
+    for (int x = left; x <= right; x++) {
+      if (line[x] && (x == left || !line[x - 1])) {
+        push(y, x);
+      }
+    }
+  }
+
+  private void push(int y, int x) {
+    if (size + 2 > stack.length) {
+      stack = Arrays.copyOf(stack, stack.length * 2);
+    }
+    stack[size] = y;
+    stack[size + 1] = x;
+    size += 2;
+  }
+}
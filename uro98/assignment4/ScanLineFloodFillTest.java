@@ -0,0 +1,55 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ScanLineFloodFillTest {
+
+  @Test
+  public void testFillDisablesWholeIsland() {
+    boolean[][] map = new boolean[][] {
+      {true, false, true, true},
+      {true, false, false, true},
+      {true, true, true, true},
+      {false, false, false, false},
+      {true, true, false, true}
+    };
+    
+    int tiles = new ScanLineFloodFill().fill(map, 0, 3);
+    
+    boolean[][] expected = new boolean[][] {
+      {false, false, false, false},
+      {false, false, false, false},
+      {false, false, false, false},
+      {false, false, false, false},
+      {true, true, false, true}
+    };
+    assertEquals(9, tiles);
+    assertArrayEquals(expected, map);
+  }
+  
+  @Test
+  public void testFillOnWaterReturnsZero() {
+    boolean[][] map = new boolean[][] {
+      {true, false},
+      {false, true}
+    };
+    
+    assertEquals(0, new ScanLineFloodFill().fill(map, 0, 1));
+    assertEquals(1, new ScanLineFloodFill().fill(map, 1, 1));
+    assertEquals(true, map[0][0]);
+  }
+  
+  @Test
+  public void testFillSpiral() {
+    boolean[][] map = new boolean[][] {
+      {true, true, true, true, true},
+      {false, false, false, false, true},
+      {true, true, true, false, true},
+      {true, false, false, false, true},
+      {true, true, true, true, true}
+    };
+    
+    assertEquals(17, new ScanLineFloodFill().fill(map, 2, 2));
+  }
+}